@@ -0,0 +1,159 @@
+package merboxel.quarkus.benchmarks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * The packaged application, JVM ({@code target/quarkus-app/quarkus-run.jar}) or native ({@code target/*-runner}),
+ * running on a free port against a PostgreSQL server. Its output goes to {@code target/<name>-<mode>.log}.
+ */
+final class AppProcess implements AutoCloseable {
+
+    private final static Duration STARTUP_TIMEOUT = Duration.ofMinutes(1);
+    private final static Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+    private final static Duration POLL_INTERVAL = Duration.ofMillis(2);
+    private final static String POSTGRES_USER = "postgres";
+
+    private final Process process;
+    private final long start;
+    private final int port;
+    private final Path log;
+
+    private AppProcess(Process process, long start, int port, Path log) {
+        this.process = process;
+        this.start = start;
+        this.port = port;
+        this.log = log;
+    }
+
+    /**
+     * @return {@code null} when the runner of {@code mode} was not built
+     */
+    static AppProcess start(Path app, String mode, int postgresPort, String name) throws IOException {
+        int port = freePort();
+        List<String> properties = List.of(
+                "-Dquarkus.http.port=" + port,
+                "-Dquarkus.datasource.reactive.url=postgresql://localhost:" + postgresPort + "/postgres",
+                "-Dquarkus.datasource.username=" + POSTGRES_USER,
+                "-Dquarkus.datasource.password=" + POSTGRES_USER);
+        List<String> command = command(app.resolve("target"), mode, properties);
+        if (command == null) {
+            return null;
+        }
+        Path log = app.resolve("target/" + name + "-" + mode + ".log");
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).directory(app.toFile())
+                .redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        return new AppProcess(process, start, port, log);
+    }
+
+    URI uri(String pathAndQuery) {
+        return URI.create("http://localhost:" + port + pathAndQuery);
+    }
+
+    /**
+     * Polls {@code pathAndQuery} until it answers 200.
+     *
+     * @return the milliseconds elapsed since the process was started
+     */
+    double awaitFirstResponse(HttpClient http, String pathAndQuery) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri(pathAndQuery)).GET().build();
+        long deadline = start + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("The application exited with " + process.exitValue() + ", see " + log);
+            }
+            try {
+                if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return (System.nanoTime() - start) / 1_000_000.0;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(POLL_INTERVAL);
+        }
+        throw new IllegalStateException("No response within " + STARTUP_TIMEOUT + ", see " + log);
+    }
+
+    /**
+     * A field of {@code /proc/<pid>/status} in kB, such as {@code VmRSS} or {@code VmHWM}, -1 where {@code /proc}
+     * is not available.
+     */
+    long memoryKb(String field) {
+        Path status = Path.of("/proc", String.valueOf(process.pid()), "status");
+        try (Stream<String> lines = Files.lines(status)) {
+            return lines.filter((line) -> line.startsWith(field + ":"))
+                    .map((line) -> line.replaceAll("\\D", ""))
+                    .mapToLong(Long::parseLong)
+                    .findFirst()
+                    .orElse(-1L);
+        } catch (IOException | UncheckedIOException e) {
+            return -1L;
+        }
+    }
+
+    /**
+     * Stops the process, forcibly when it did not exit within {@code SHUTDOWN_TIMEOUT} or when interrupted while
+     * waiting, in which case the interrupt flag is restored.
+     */
+    @Override
+    public void close() {
+        process.destroy();
+        try {
+            if (!process.waitFor(SHUTDOWN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // the system properties go before -jar for the JVM, a native runner parses them from its arguments
+    private static List<String> command(Path target, String mode, List<String> properties) throws IOException {
+        switch (mode) {
+            case "jvm" -> {
+                Path jar = target.resolve("quarkus-app/quarkus-run.jar");
+                if (!Files.exists(jar)) {
+                    return null;
+                }
+                List<String> command = new ArrayList<>();
+                command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+                command.addAll(properties);
+                command.addAll(List.of("-jar", jar.toString()));
+                return command;
+            }
+            case "native" -> {
+                if (!Files.isDirectory(target)) {
+                    return null;
+                }
+                try (Stream<Path> files = Files.list(target)) {
+                    return files.filter((file) -> file.getFileName().toString().endsWith("-runner"))
+                            .filter(Files::isExecutable)
+                            .findFirst()
+                            .map((runner) -> Stream.concat(Stream.of(runner.toString()), properties.stream()).toList())
+                            .orElse(null);
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown mode " + mode + ", expected jvm or native");
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
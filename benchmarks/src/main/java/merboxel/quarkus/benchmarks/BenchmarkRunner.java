@@ -0,0 +1,55 @@
+package merboxel.quarkus.benchmarks;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+public class BenchmarkRunner {
+
+    private final static String ALLOCATION_NORM = "gc.alloc.rate.norm";
+
+    public static void main(String[] args) throws Exception {
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+
+        System.out.println();
+        System.out.printf("%-90s %-6s %12s %16s  %s%n", "Benchmark", "Mode", "size", "B/item", "Params");
+        for (RunResult result : results) {
+            String size = result.getParams().getParam("size");
+            Result<?> allocation = findAllocation(result);
+            if (size == null || allocation == null) {
+                continue;
+            }
+            System.out.printf("%-90s %-6s %12s %16.2f  %s%n",
+                    result.getParams().getBenchmark(),
+                    result.getParams().getMode().shortLabel(),
+                    size,
+                    allocation.getScore() / Long.parseLong(size),
+                    otherParams(result.getParams()));
+        }
+    }
+
+    private static String otherParams(BenchmarkParams params) {
+        return params.getParamsKeys().stream()
+                .filter((key) -> !key.equals("size"))
+                .map((key) -> key + "=" + params.getParam(key))
+                .collect(Collectors.joining(" "));
+    }
+
+    private static Result<?> findAllocation(RunResult result) {
+        return result.getSecondaryResults().keySet().stream()
+                .filter((key) -> key.endsWith(ALLOCATION_NORM))
+                .findFirst()
+                .<Result<?>>map((key) -> result.getSecondaryResults().get(key))
+                .orElse(null);
+    }
+}
@@ -0,0 +1,81 @@
+package merboxel.quarkus.benchmarks;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import merboxel.quarkus.batch.StreamingBatcher;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-row lookups versus {@link StreamingBatcher} windows against a backend with a fixed round-trip latency, both
+ * limited to the same number of in-flight queries (a connection pool).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MutinyBatchingBenchmark {
+
+    private final static Duration ROUND_TRIP_LATENCY = Duration.ofMillis(1);
+    private final static int POOL_SIZE = 8;
+
+    @Param({"100", "1000"})
+    public int keys;
+
+    @Param({"16", "256"})
+    public int batchSize;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class RoundTrips {
+        public long roundTrips;
+        public long operations;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            roundTrips = 0;
+            operations = 0;
+        }
+    }
+
+    @Benchmark
+    public void multi_lookup_per_row(RoundTrips counters) {
+        Multi.createFrom().range(0, keys).onItem()
+                .transformToMulti((key) -> lookup(List.of(key), counters)).merge(POOL_SIZE)
+                .onItem().ignoreAsUni().await().indefinitely();
+        counters.operations++;
+    }
+
+    @Benchmark
+    public void multi_lookup_streaming_batch(RoundTrips counters) {
+        Multi.createFrom().range(0, keys)
+                .plug(StreamingBatcher.<Integer, Integer>of(batchSize, Duration.ofMillis(1), (batch) -> lookup(batch, counters))
+                        .withConcurrency(POOL_SIZE))
+                .onItem().ignoreAsUni().await().indefinitely();
+        counters.operations++;
+    }
+
+    private Multi<Integer> lookup(List<Integer> batch, RoundTrips counters) {
+        counters.roundTrips++;
+        return Uni.createFrom().item(batch)
+                .onItem().delayIt().by(ROUND_TRIP_LATENCY)
+                .onItem().transformToMulti((list) -> Multi.createFrom().iterable(list));
+    }
+}
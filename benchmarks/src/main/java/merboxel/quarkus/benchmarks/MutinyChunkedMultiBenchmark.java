@@ -0,0 +1,71 @@
+package merboxel.quarkus.benchmarks;
+
+import io.smallrye.mutiny.Multi;
+import merboxel.quarkus.chunked.ChunkedMulti;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * The {@code transform -> where -> invoke} chain of {@code MutinyTransformSyncTest} over an iterable source, per item
+ * with {@code Multi} and per chunk with {@link ChunkedMulti}. Divide the average time by {@code size} for the
+ * per-item cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class MutinyChunkedMultiBenchmark {
+
+    @Param({"4", "1000", "1000000", "10000000"})
+    public int size;
+
+    private List<Integer> items;
+
+    @State(Scope.Benchmark)
+    public static class Chunking {
+
+        @Param({"1", "64", "1024"})
+        public int chunkSize;
+    }
+
+    @Setup
+    public void setup() {
+        items = Multi.createFrom().range(0, size).collect().asList().await().indefinitely();
+    }
+
+    @Benchmark
+    public long multi_transform_where_invoke(Blackhole bh) {
+        return Multi.createFrom().iterable(items)
+                .onItem().transform((i) -> i * 3)
+                .select().where((i) -> (i & 1) == 0)
+                .onItem().invoke(bh::consume)
+                .collect().with(Collectors.counting())
+                .await().indefinitely();
+    }
+
+    @Benchmark
+    public long chunked_transform_where_invoke(Chunking chunking, Blackhole bh) {
+        return ChunkedMulti.fromIterable(items, chunking.chunkSize)
+                .onItem().transform((i) -> i * 3)
+                .select().where((i) -> (i & 1) == 0)
+                .onItem().invoke(bh::consume)
+                .collect().with(Collectors.counting())
+                .await().indefinitely();
+    }
+}
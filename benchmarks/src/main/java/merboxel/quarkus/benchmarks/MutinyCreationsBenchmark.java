@@ -0,0 +1,67 @@
+package merboxel.quarkus.benchmarks;
+
+import io.smallrye.mutiny.Multi;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class MutinyCreationsBenchmark {
+
+    @Param({"4", "1000", "1000000", "10000000"})
+    public int size;
+
+    private List<Integer> items;
+    private Integer[] array;
+
+    @Setup
+    public void setup() {
+        items = Multi.createFrom().range(0, size).collect().asList().await().indefinitely();
+        array = items.toArray(Integer[]::new);
+    }
+
+    @Benchmark
+    public void multi_create_via_iterable(Blackhole bh) {
+        Multi.createFrom().iterable(items)
+                .subscribe().with(bh::consume);
+    }
+
+    @Benchmark
+    public void multi_create_via_items(Blackhole bh) {
+        Multi.createFrom().items(array)
+                .subscribe().with(bh::consume);
+    }
+
+    @Benchmark
+    public void multi_create_via_range(Blackhole bh) {
+        Multi.createFrom().range(0, size)
+                .subscribe().with(bh::consume);
+    }
+
+    @Benchmark
+    public void multi_create_via_emitter(Blackhole bh) {
+        Multi.createFrom().<Integer>emitter((em) -> {
+            for (int i = 0; i < size; i++) {
+                em.emit(i);
+            }
+            em.complete();
+        }).subscribe().with(bh::consume);
+    }
+}
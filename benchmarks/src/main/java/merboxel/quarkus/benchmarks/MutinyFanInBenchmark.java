@@ -0,0 +1,97 @@
+package merboxel.quarkus.benchmarks;
+
+import io.smallrye.mutiny.Multi;
+import merboxel.quarkus.emitter.FanInEmitters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * {@code producers} platform threads emitting {@code ITEMS} items in total into a single subscriber, through
+ * {@code Multi.createFrom().emitter(...)} and through {@link FanInEmitters}. The score is the time per item.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MutinyFanInBenchmark {
+
+    private final static int ITEMS = 1 << 18;
+
+    @Param({"1", "2", "4", "8", "16", "32", "64"})
+    public int producers;
+
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        executor = Executors.newFixedThreadPool(producers);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public long multi_emitter() {
+        return Multi.createFrom().<Integer>emitter((em) -> produce(em::emit, em::complete))
+                .collect().with(Collectors.counting()).await().indefinitely();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public long multi_fan_in() {
+        return FanInEmitters.<Integer>create((em) -> produce(em::emit, em::complete))
+                .collect().with(Collectors.counting()).await().indefinitely();
+    }
+
+    private void produce(Consumer<Integer> emit, Runnable complete) {
+        int perProducer = ITEMS / producers;
+        CyclicBarrier start = new CyclicBarrier(producers);
+        CountDownLatch finished = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    emit.accept(i);
+                }
+                finished.countDown();
+            });
+        }
+        Thread.ofVirtual().start(() -> {
+            try {
+                finished.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            complete.run();
+        });
+    }
+}
@@ -0,0 +1,114 @@
+package merboxel.quarkus.benchmarks;
+
+import io.smallrye.mutiny.Uni;
+import merboxel.quarkus.concurrency.ImperativeBridge;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@code awaits} threads, one per await and all started before the first await, blocking on a Uni that answers after {@code DELAY}, through
+ * {@link ImperativeBridge#await(Uni)} and through {@code uni.await().indefinitely()}, on virtual or platform threads.
+ * <p>
+ * {@code wakeupMicros} is the mean time between the item and the awaiting thread running again, {@code peakThreads}
+ * the JVM-wide peak platform thread count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class MutinyImperativeBridgeBenchmark {
+
+    private final static Duration DELAY = Duration.ofMillis(1);
+
+    @Param({"10000"})
+    public int awaits;
+
+    @Param({"bridge", "await"})
+    public String waitWith;
+
+    @Param({"virtual", "platform"})
+    public String threads;
+
+    private Uni<Long> answer;
+
+    // assembled once, concurrent first assemblies race on the context propagation setup
+    @Setup(Level.Trial)
+    public void setup() {
+        answer = Uni.createFrom().item(1L).onItem().delayIt().by(DELAY)
+                .onItem().transform((ignored) -> System.nanoTime());
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Awaits {
+        private final static ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+        public double wakeupMicros;
+        public long peakThreads;
+
+        private final LongAdder wakeupNanos = new LongAdder();
+        private final LongAdder woken = new LongAdder();
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            THREADS.resetPeakThreadCount();
+            wakeupNanos.reset();
+            woken.reset();
+            wakeupMicros = 0;
+            peakThreads = 0;
+        }
+
+        void record() {
+            wakeupMicros = wakeupNanos.sum() / 1_000.0 / Math.max(1, woken.sum());
+            peakThreads = Math.max(peakThreads, THREADS.getPeakThreadCount());
+        }
+    }
+
+    @Benchmark
+    public void uni_concurrent_awaits(Awaits counters) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(awaits);
+        CountDownLatch go = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(awaits);
+        Thread.Builder builder = threads.equals("virtual") ? Thread.ofVirtual() : Thread.ofPlatform();
+        for (int i = 0; i < awaits; i++) {
+            builder.start(() -> {
+                try {
+                    started.countDown();
+                    go.await();
+                    long answeredAt = waitWith.equals("bridge") ? ImperativeBridge.await(answer) : answer.await().indefinitely();
+                    counters.wakeupNanos.add(System.nanoTime() - answeredAt);
+                    counters.woken.increment();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        // every thread is alive before the first await starts
+        started.await();
+        go.countDown();
+        done.await();
+        counters.record();
+    }
+}
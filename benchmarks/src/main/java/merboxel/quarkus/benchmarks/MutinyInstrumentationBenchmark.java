@@ -0,0 +1,61 @@
+package merboxel.quarkus.benchmarks;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.Multi;
+import merboxel.quarkus.observability.PipelineMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Cost of {@link PipelineMetrics} on {@code range -> transform}: not plugged, plugged but disabled, and enabled.
+ * Divide the average time by {@code size} for the overhead per item.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class MutinyInstrumentationBenchmark {
+
+    @Param({"4", "1000", "1000000", "10000000"})
+    public int size;
+
+    private final Function<Multi<Integer>, Multi<Integer>> disabled = PipelineMetrics.disabled().multi("benchmark");
+    private final Function<Multi<Integer>, Multi<Integer>> enabled = PipelineMetrics.of(new SimpleMeterRegistry()).multi("benchmark");
+
+    @Benchmark
+    public void multi_transform(Blackhole bh) {
+        Multi.createFrom().range(0, size)
+                .onItem().transform((i) -> i + 1)
+                .subscribe().with(bh::consume);
+    }
+
+    @Benchmark
+    public void multi_transform_metrics_disabled(Blackhole bh) {
+        Multi.createFrom().range(0, size)
+                .onItem().transform((i) -> i + 1)
+                .plug(disabled)
+                .subscribe().with(bh::consume);
+    }
+
+    @Benchmark
+    public void multi_transform_metrics_enabled(Blackhole bh) {
+        Multi.createFrom().range(0, size)
+                .onItem().transform((i) -> i + 1)
+                .plug(enabled)
+                .subscribe().with(bh::consume);
+    }
+}
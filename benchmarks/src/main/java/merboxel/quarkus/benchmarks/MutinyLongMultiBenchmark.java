@@ -0,0 +1,77 @@
+package merboxel.quarkus.benchmarks;
+
+import io.smallrye.mutiny.Multi;
+import merboxel.quarkus.primitive.LongMulti;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * The same numeric pipeline (range, map, filter, sum) on boxed {@code Multi<Long>} and on {@link LongMulti}. Run with
+ * the {@code BenchmarkRunner} to get the {@code B/item} column.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class MutinyLongMultiBenchmark {
+
+    @Param({"4", "1000", "1000000", "10000000"})
+    public int size;
+
+    @Benchmark
+    public long multi_range_map_filter_sum() {
+        return Multi.createFrom().range(0, size)
+                .onItem().transform((i) -> i * 3L)
+                .select().where((i) -> (i & 1) == 0)
+                .collect().with(Collectors.summingLong(Long::longValue))
+                .await().indefinitely();
+    }
+
+    @Benchmark
+    public long long_multi_range_map_filter_sum() {
+        return LongMulti.range(0, size)
+                .map((i) -> i * 3)
+                .filter((i) -> (i & 1) == 0)
+                .sum()
+                .await().indefinitely();
+    }
+
+    @Benchmark
+    public long multi_generate_window_sum() {
+        AtomicLong counter = new AtomicLong();
+        return Multi.createFrom().<AtomicLong, Long>generator(() -> counter, (state, emitter) -> {
+                    emitter.emit(state.getAndIncrement());
+                    return state;
+                })
+                .select().first(size)
+                .group().intoLists().of(100)
+                .onItem().transform((window) -> window.stream().mapToLong(Long::longValue).sum())
+                .collect().with(Collectors.summingLong(Long::longValue))
+                .await().atMost(Duration.ofMinutes(1));
+    }
+
+    @Benchmark
+    public long long_multi_generate_window_sum() {
+        AtomicLong counter = new AtomicLong();
+        return LongMulti.generate(counter::getAndIncrement)
+                .limit(size)
+                .windowSum(100)
+                .sum()
+                .await().atMost(Duration.ofMinutes(1));
+    }
+}
@@ -0,0 +1,75 @@
+package merboxel.quarkus.benchmarks;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import merboxel.quarkus.concurrency.OrderedMerge;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ordered merge versus {@code concatenate()}: with inner Unis that take {@code latencyMillis} to complete (I/O bound)
+ * and with inner Unis that complete immediately (operator overhead).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MutinyOrderedMergeBenchmark {
+
+    @Param({"100"})
+    public int size;
+
+    @Param({"4", "16"})
+    public int concurrency;
+
+    @Param({"1"})
+    public int latencyMillis;
+
+    @Benchmark
+    public void multi_transformToUni_concat_delayed(Blackhole bh) {
+        Multi.createFrom().range(0, size).onItem()
+                .transformToUni(this::delayed).concatenate()
+                .onItem().invoke(bh::consume)
+                .onItem().ignoreAsUni().await().indefinitely();
+    }
+
+    @Benchmark
+    public void multi_transformToUni_ordered_merge_delayed(Blackhole bh) {
+        Multi.createFrom().range(0, size)
+                .plug(OrderedMerge.transformToUni(concurrency, this::delayed))
+                .onItem().invoke(bh::consume)
+                .onItem().ignoreAsUni().await().indefinitely();
+    }
+
+    @Benchmark
+    public void multi_transformToUni_concat_immediate(Blackhole bh) {
+        Multi.createFrom().range(0, size).onItem()
+                .transformToUni((i) -> Uni.createFrom().item(i)).concatenate()
+                .subscribe().with(bh::consume);
+    }
+
+    @Benchmark
+    public void multi_transformToUni_ordered_merge_immediate(Blackhole bh) {
+        Multi.createFrom().range(0, size)
+                .plug(OrderedMerge.transformToUni(concurrency, (Integer i) -> Uni.createFrom().item(i)))
+                .subscribe().with(bh::consume);
+    }
+
+    private Uni<Integer> delayed(Integer i) {
+        return Uni.createFrom().item(i).onItem().delayIt().by(Duration.ofMillis(latencyMillis));
+    }
+}
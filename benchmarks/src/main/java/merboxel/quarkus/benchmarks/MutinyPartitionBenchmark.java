@@ -0,0 +1,71 @@
+package merboxel.quarkus.benchmarks;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import merboxel.quarkus.concurrency.Partitioned;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * {@code ITEMS} items spread over {@code KEYS} keys, each costing {@code WORK} CPU tokens, processed on
+ * {@code lanes} single-threaded lanes with {@link Partitioned}. With enough cores the time per item should fall
+ * close to {@code 1 / lanes} of the single lane.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MutinyPartitionBenchmark {
+
+    private final static int ITEMS = 1 << 14;
+    private final static int KEYS = 256;
+    private final static long WORK = 1_000;
+
+    @Param({"1", "2", "4", "8"})
+    public int lanes;
+
+    private List<ExecutorService> executors;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        executors = IntStream.range(0, lanes).mapToObj((lane) -> Executors.newSingleThreadExecutor()).toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executors.forEach(ExecutorService::shutdownNow);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public long multi_partitioned() {
+        return Multi.createFrom().range(0, ITEMS)
+                .plug(Partitioned.transformToUni(lanes, executors::get, (Integer i) -> i % KEYS, (Integer i) -> {
+                    Blackhole.consumeCPU(WORK);
+                    return Uni.createFrom().item(i);
+                }))
+                .collect().with(Collectors.counting()).await().indefinitely();
+    }
+}
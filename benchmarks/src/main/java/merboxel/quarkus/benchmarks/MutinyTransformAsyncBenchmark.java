@@ -0,0 +1,66 @@
+package merboxel.quarkus.benchmarks;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class MutinyTransformAsyncBenchmark {
+
+    @Param({"4", "1000", "1000000", "10000000"})
+    public int size;
+
+    private List<Integer> items;
+
+    @Setup
+    public void setup() {
+        items = Multi.createFrom().range(0, size).collect().asList().await().indefinitely();
+    }
+
+    @Benchmark
+    public void multi_transformToUni_merge(Blackhole bh) {
+        Multi.createFrom().iterable(items).onItem()
+                .transformToUni((i) -> Uni.createFrom().item(i)).merge()
+                .subscribe().with(bh::consume);
+    }
+
+    @Benchmark
+    public void multi_transformToUni_concat(Blackhole bh) {
+        Multi.createFrom().iterable(items).onItem()
+                .transformToUni((i) -> Uni.createFrom().item(i)).concatenate()
+                .subscribe().with(bh::consume);
+    }
+
+    @Benchmark
+    public void multi_transformToMulti_merge(Blackhole bh) {
+        Multi.createFrom().iterable(items).onItem()
+                .transformToMulti((i) -> Multi.createFrom().items(i, i + 4)).merge()
+                .subscribe().with(bh::consume);
+    }
+
+    @Benchmark
+    public void multi_transformToMulti_concat(Blackhole bh) {
+        Multi.createFrom().iterable(items).onItem()
+                .transformToMulti((i) -> Multi.createFrom().items(i, i + 4)).collectFailures().concatenate()
+                .subscribe().with(bh::consume);
+    }
+}
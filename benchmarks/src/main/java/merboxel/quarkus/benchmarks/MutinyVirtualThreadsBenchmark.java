@@ -0,0 +1,114 @@
+package merboxel.quarkus.benchmarks;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import merboxel.quarkus.concurrency.Offload;
+import merboxel.quarkus.concurrency.VirtualThreadExecutor;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code inFlight} concurrent blocking transforms (a 1 ms sleep each) offloaded to virtual threads, to Mutiny's
+ * default worker pool and to a fixed pool of 200 platform threads (the Quarkus worker pool default).
+ * <p>
+ * {@code peakThreads} is the JVM-wide peak platform thread count and {@code carrierThreads} the number of virtual
+ * thread carriers alive after each operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class MutinyVirtualThreadsBenchmark {
+
+    private final static Duration BLOCKING_TIME = Duration.ofMillis(1);
+    private final static int FIXED_POOL_SIZE = 200;
+
+    @Param({"10000"})
+    public int inFlight;
+
+    @Param({"virtual", "worker-pool", "fixed-200"})
+    public String executor;
+
+    private Executor offload;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Threads {
+        private final static ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+        public long peakThreads;
+        public long carrierThreads;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            THREADS.resetPeakThreadCount();
+            peakThreads = 0;
+            carrierThreads = 0;
+        }
+
+        void record() {
+            peakThreads = Math.max(peakThreads, THREADS.getPeakThreadCount());
+            carrierThreads = Math.max(carrierThreads, Thread.getAllStackTraces().keySet().stream()
+                    .filter((thread) -> thread.getClass().getName().equals("jdk.internal.misc.CarrierThread"))
+                    .count());
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        offload = switch (executor) {
+            case "virtual" -> new VirtualThreadExecutor("benchmark", inFlight);
+            case "worker-pool" -> Infrastructure.getDefaultWorkerPool();
+            case "fixed-200" -> Executors.newFixedThreadPool(FIXED_POOL_SIZE);
+            default -> throw new IllegalArgumentException(executor);
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (offload instanceof VirtualThreadExecutor virtual) {
+            virtual.close();
+        } else if (offload instanceof ExecutorService service && service != Infrastructure.getDefaultWorkerPool()) {
+            service.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    public void multi_transform_blocking(Threads threads) {
+        Multi.createFrom().range(0, inFlight).onItem()
+                .transformToUni(Offload.blocking(MutinyVirtualThreadsBenchmark::blockingIdentity, offload)).merge(inFlight)
+                .onItem().ignoreAsUni().await().indefinitely();
+        threads.record();
+    }
+
+    private static Integer blockingIdentity(Integer i) {
+        try {
+            Thread.sleep(BLOCKING_TIME);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return i;
+    }
+}
@@ -0,0 +1,234 @@
+package merboxel.quarkus.benchmarks;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the buffered ({@code Uni<List<T>>}, one JSON array) and the streamed ({@code Multi<T>} as
+ * {@code application/x-ndjson}) endpoints of {@code RowResource}: the packaged application is started against an
+ * embedded PostgreSQL loaded with {@code src/test/resources/db}, then {@code concurrency} clients call each endpoint
+ * in a loop. For each endpoint it reports the requests per second, the p50/p99 of the time to the first byte of the
+ * body and of the time to its last byte, and the peak RSS of the application so far.
+ * <p>
+ * Options, as {@code --name=value}: {@code app} (project directory, {@code .}), {@code mode} ({@code jvm} or
+ * {@code native}), {@code out} ({@code target/rest-load.json}), {@code warmup} and {@code duration} (seconds per
+ * endpoint, 3 and 10), {@code concurrency} (8), {@code limit} (rows of {@code large_table} per request, 10000).
+ * <p>
+ * A missing runner is recorded as skipped, and a percentile without any successful request as {@code null}.
+ */
+public class RestLoadGenerator {
+
+    private final static String FIRST_RESPONSE_PATH = "/rows/children/1";
+    private final static int READ_BUFFER = 8192;
+
+    private final int warmupSeconds;
+    private final int durationSeconds;
+    private final int concurrency;
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    private RestLoadGenerator(Map<String, String> options) {
+        this.warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "3"));
+        this.durationSeconds = Integer.parseInt(options.getOrDefault("duration", "10"));
+        this.concurrency = Integer.parseInt(options.getOrDefault("concurrency", "8"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        RestLoadGenerator generator = new RestLoadGenerator(options);
+        Path app = Path.of(options.getOrDefault("app", ".")).toAbsolutePath().normalize();
+        String mode = options.getOrDefault("mode", "jvm");
+        int limit = Integer.parseInt(options.getOrDefault("limit", "10000"));
+        Path out = Path.of(options.getOrDefault("out", "target/rest-load.json"));
+        Map<String, String> endpoints = Map.of(
+                "children-buffered", "/rows/children/1",
+                "children-streamed", "/rows/children/1/stream",
+                "large-buffered", "/rows/large?limit=" + limit,
+                "large-streamed", "/rows/large/stream?limit=" + limit);
+
+        List<String> results = new ArrayList<>();
+        boolean skipped = false;
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start()) {
+            seed(postgres, app.resolve("src/test/resources/db"));
+            try (AppProcess process = AppProcess.start(app, mode, postgres.getPort(), "rest-load")) {
+                if (process == null) {
+                    System.out.printf("%s: no runner, skipped%n", mode);
+                    skipped = true;
+                } else {
+                    generator.run(process, endpoints, results);
+                }
+            }
+        }
+
+        String json = "{\n"
+                + "  \"timestamp\": \"" + Instant.now() + "\",\n"
+                + "  \"mode\": \"" + mode + "\",\n"
+                + (skipped ? "  \"skipped\": \"runner not found, see README\",\n" : "")
+                + "  \"cpus\": " + Runtime.getRuntime().availableProcessors() + ",\n"
+                + "  \"concurrency\": " + generator.concurrency + ",\n"
+                + "  \"durationSeconds\": " + generator.durationSeconds + ",\n"
+                + "  \"limit\": " + limit + ",\n"
+                + "  \"endpoints\": [\n" + String.join(",\n", results) + "\n  ]\n"
+                + "}\n";
+        if (out.getParent() != null) {
+            Files.createDirectories(out.getParent());
+        }
+        Files.writeString(out, json);
+    }
+
+    private void run(AppProcess process, Map<String, String> endpoints, List<String> results) throws Exception {
+        process.awaitFirstResponse(http, FIRST_RESPONSE_PATH);
+
+        System.out.printf("%-20s %10s %12s %12s %12s %12s %14s%n",
+                "endpoint", "req/s", "first p50", "first p99", "last p50", "last p99", "peak RSS kB");
+        for (String name : List.of("children-buffered", "children-streamed", "large-buffered", "large-streamed")) {
+            HttpRequest request = HttpRequest.newBuilder(process.uri(endpoints.get(name)))
+                    .timeout(Duration.ofMinutes(1))
+                    .GET()
+                    .build();
+            load(request, warmupSeconds);
+            Latencies latencies = load(request, durationSeconds);
+            long peakRss = process.memoryKb("VmHWM");
+
+            double rps = latencies.count / (double) durationSeconds;
+            System.out.printf(Locale.ROOT, "%-20s %10.1f %12s %12s %12s %12s %14d%n", name, rps,
+                    latencies.firstByte(0.50), latencies.firstByte(0.99),
+                    latencies.lastByte(0.50), latencies.lastByte(0.99), peakRss);
+            results.add(String.format(Locale.ROOT, "    {\"endpoint\": \"%s\", \"path\": \"%s\", "
+                            + "\"requestsPerSecond\": %.1f, \"errors\": %d, "
+                            + "\"firstByteP50Millis\": %s, \"firstByteP99Millis\": %s, "
+                            + "\"lastByteP50Millis\": %s, \"lastByteP99Millis\": %s, \"peakRssKb\": %d}",
+                    name, endpoints.get(name), rps, latencies.errors,
+                    latencies.firstByte(0.50), latencies.firstByte(0.99),
+                    latencies.lastByte(0.50), latencies.lastByte(0.99), peakRss));
+        }
+    }
+
+    // `concurrency` clients reading whole bodies in a loop for `seconds`
+    private Latencies load(HttpRequest request, int seconds) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<Latencies>> futures = new ArrayList<>();
+            for (int c = 0; c < concurrency; c++) {
+                futures.add(clients.submit(() -> {
+                    Latencies latencies = new Latencies();
+                    byte[] buffer = new byte[READ_BUFFER];
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<InputStream> response = http.send(request, HttpResponse.BodyHandlers.ofInputStream());
+                            try (InputStream body = response.body()) {
+                                int read = body.read(buffer);
+                                long firstByte = System.nanoTime();
+                                while (read >= 0) {
+                                    // drain, nothing is kept
+                                    read = body.read(buffer);
+                                }
+                                if (response.statusCode() == 200) {
+                                    latencies.record(firstByte - start, System.nanoTime() - start);
+                                } else {
+                                    latencies.errors++;
+                                }
+                            }
+                        } catch (IOException e) {
+                            latencies.errors++;
+                        }
+                    }
+                    return latencies;
+                }));
+            }
+            Latencies total = new Latencies();
+            for (Future<Latencies> future : futures) {
+                total.add(future.get());
+            }
+            return total;
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    private static void seed(EmbeddedPostgres postgres, Path scripts) throws IOException, SQLException {
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute(Files.readString(scripts.resolve("schema.sql")));
+            statement.execute(Files.readString(scripts.resolve("seed.sql")));
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        return options;
+    }
+
+    private static final class Latencies {
+
+        private long[] firstByte = new long[1024];
+        private long[] lastByte = new long[1024];
+        private int count;
+        private long errors;
+
+        void record(long firstByteNanos, long lastByteNanos) {
+            if (count == firstByte.length) {
+                firstByte = Arrays.copyOf(firstByte, count * 2);
+                lastByte = Arrays.copyOf(lastByte, count * 2);
+            }
+            firstByte[count] = firstByteNanos;
+            lastByte[count] = lastByteNanos;
+            count++;
+        }
+
+        void add(Latencies other) {
+            for (int i = 0; i < other.count; i++) {
+                record(other.firstByte[i], other.lastByte[i]);
+            }
+            errors += other.errors;
+        }
+
+        String firstByte(double quantile) {
+            return millis(firstByte, quantile);
+        }
+
+        String lastByte(double quantile) {
+            return millis(lastByte, quantile);
+        }
+
+        // null without any successful request, NaN is not JSON
+        private String millis(long[] values, double quantile) {
+            if (count == 0) {
+                return "null";
+            }
+            long[] sorted = Arrays.copyOf(values, count);
+            Arrays.sort(sorted);
+            return String.format(Locale.ROOT, "%.2f",
+                    sorted[Math.min(count - 1, (int) Math.ceil(quantile * count) - 1)] / 1_000_000.0);
+        }
+    }
+}
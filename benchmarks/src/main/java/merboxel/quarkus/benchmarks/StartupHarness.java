@@ -0,0 +1,203 @@
+package merboxel.quarkus.benchmarks;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Starts the packaged application in JVM mode ({@code target/quarkus-app/quarkus-run.jar}) and in native mode
+ * ({@code target/*-runner}) against an embedded PostgreSQL, and records for each mode:
+ * <ul>
+ *     <li>the time from process start to the first successful response of {@code /pipelines/creations}</li>
+ *     <li>the resident set size after that first response, after the load (steady state) and its peak</li>
+ *     <li>the requests per second of each {@code /pipelines} endpoint under {@code concurrency} clients</li>
+ * </ul>
+ * The results are written as JSON, a mode whose runner is missing is recorded as skipped.
+ * <p>
+ * Options, as {@code --name=value}: {@code app} (project directory, {@code .}), {@code modes} ({@code jvm,native}),
+ * {@code out} ({@code target/startup-benchmark.json}), {@code warmup} and {@code duration} (seconds per endpoint,
+ * 5 and 10), {@code concurrency} (16), {@code size} (items per request, 100), {@code quarkus-version} (read from
+ * {@code target/quarkus-app/quarkus-app-dependencies.txt} of the application by default).
+ */
+public class StartupHarness {
+
+    private final static List<String> ENDPOINTS = List.of("creations", "transform-sync", "transform-async", "pgpool");
+    private final static String FIRST_RESPONSE_ENDPOINT = "creations";
+    private final static String QUARKUS_CORE = "io.quarkus:quarkus-core:";
+
+    private final Path app;
+    private final String quarkusVersion;
+    private final int warmupSeconds;
+    private final int durationSeconds;
+    private final int concurrency;
+    private final int size;
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    private StartupHarness(Map<String, String> options) {
+        this.app = Path.of(options.getOrDefault("app", ".")).toAbsolutePath().normalize();
+        this.warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "5"));
+        this.durationSeconds = Integer.parseInt(options.getOrDefault("duration", "10"));
+        this.concurrency = Integer.parseInt(options.getOrDefault("concurrency", "16"));
+        this.size = Integer.parseInt(options.getOrDefault("size", "100"));
+        this.quarkusVersion = options.getOrDefault("quarkus-version", quarkusVersion(app));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        StartupHarness harness = new StartupHarness(options);
+        Path out = Path.of(options.getOrDefault("out", "target/startup-benchmark.json"));
+
+        List<String> results = new ArrayList<>();
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start()) {
+            for (String mode : options.getOrDefault("modes", "jvm,native").split(",")) {
+                results.add(harness.run(mode.trim(), postgres.getPort()));
+            }
+        }
+
+        String json = "{\n"
+                + "  \"timestamp\": " + quote(Instant.now().toString()) + ",\n"
+                + "  \"quarkus\": " + quote(harness.quarkusVersion) + ",\n"
+                + "  \"java\": " + quote(System.getProperty("java.vm.name") + " " + System.getProperty("java.version")) + ",\n"
+                + "  \"os\": " + quote(System.getProperty("os.name") + " " + System.getProperty("os.arch")) + ",\n"
+                + "  \"cpus\": " + Runtime.getRuntime().availableProcessors() + ",\n"
+                + "  \"concurrency\": " + harness.concurrency + ",\n"
+                + "  \"durationSeconds\": " + harness.durationSeconds + ",\n"
+                + "  \"size\": " + harness.size + ",\n"
+                + "  \"modes\": [\n" + String.join(",\n", results) + "\n  ]\n"
+                + "}\n";
+        if (out.getParent() != null) {
+            Files.createDirectories(out.getParent());
+        }
+        Files.writeString(out, json);
+        System.out.print(json);
+    }
+
+    private String run(String mode, int postgresPort) throws Exception {
+        try (AppProcess process = AppProcess.start(app, mode, postgresPort, "startup")) {
+            if (process == null) {
+                System.out.printf("%s: no runner, skipped%n", mode);
+                return "    {\"mode\": " + quote(mode) + ", \"skipped\": \"runner not found, see README\"}";
+            }
+            double firstResponseMillis = process.awaitFirstResponse(http, path(FIRST_RESPONSE_ENDPOINT));
+            long rssAfterStartup = process.memoryKb("VmRSS");
+
+            Map<String, Double> throughput = new LinkedHashMap<>();
+            Map<String, Long> errors = new LinkedHashMap<>();
+            for (String endpoint : ENDPOINTS) {
+                load(process, endpoint, warmupSeconds);
+                long[] counts = load(process, endpoint, durationSeconds);
+                throughput.put(endpoint, counts[0] / (double) durationSeconds);
+                errors.put(endpoint, counts[1]);
+            }
+            long rssSteady = process.memoryKb("VmRSS");
+            long rssPeak = process.memoryKb("VmHWM");
+
+            System.out.printf("%s: first response %.1f ms, RSS %d kB after startup, %d kB steady, %s req/s%n",
+                    mode, firstResponseMillis, rssAfterStartup, rssSteady, throughput);
+            return "    {\"mode\": " + quote(mode)
+                    + ", \"timeToFirstResponseMillis\": " + String.format(Locale.ROOT, "%.1f", firstResponseMillis)
+                    + ", \"rssAfterStartupKb\": " + rssAfterStartup
+                    + ", \"rssSteadyKb\": " + rssSteady
+                    + ", \"rssPeakKb\": " + rssPeak
+                    + ", \"throughputPerSecond\": " + toJson(throughput, (rps) -> String.format(Locale.ROOT, "%.1f", rps))
+                    + ", \"errors\": " + toJson(errors, String::valueOf) + "}";
+        }
+    }
+
+    // {successful requests, failed requests} of `concurrency` clients looping for `seconds`
+    private long[] load(AppProcess process, String endpoint, int seconds) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(process.uri(path(endpoint)))
+                .timeout(Duration.ofSeconds(10))
+                .GET()
+                .build();
+        LongAdder completed = new LongAdder();
+        LongAdder failed = new LongAdder();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        for (int c = 0; c < concurrency; c++) {
+            clients.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    try {
+                        if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                            completed.increment();
+                        } else {
+                            failed.increment();
+                        }
+                    } catch (IOException e) {
+                        failed.increment();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            });
+        }
+        clients.shutdown();
+        if (!clients.awaitTermination(seconds + 30L, TimeUnit.SECONDS)) {
+            clients.shutdownNow();
+        }
+        return new long[]{completed.sum(), failed.sum()};
+    }
+
+    private String path(String endpoint) {
+        return "/pipelines/" + endpoint + "?size=" + size;
+    }
+
+    // the version of quarkus-core the application was packaged with
+    private static String quarkusVersion(Path app) {
+        Path dependencies = app.resolve("target/quarkus-app/quarkus-app-dependencies.txt");
+        if (!Files.exists(dependencies)) {
+            return "unknown";
+        }
+        try (Stream<String> lines = Files.lines(dependencies)) {
+            return lines.filter((line) -> line.startsWith(QUARKUS_CORE))
+                    .map((line) -> line.substring(line.lastIndexOf(':') + 1))
+                    .findFirst()
+                    .orElse("unknown");
+        } catch (IOException | UncheckedIOException e) {
+            return "unknown";
+        }
+    }
+
+    private static <V> String toJson(Map<String, V> values, Function<V, String> format) {
+        return values.entrySet().stream()
+                .map((entry) -> quote(entry.getKey()) + ": " + format.apply(entry.getValue()))
+                .collect(Collectors.joining(", ", "{", "}"));
+    }
+
+    private static String quote(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        return options;
+    }
+}
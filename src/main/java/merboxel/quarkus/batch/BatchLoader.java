@@ -0,0 +1,183 @@
+package merboxel.quarkus.batch;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.ParameterValidation;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import io.smallrye.mutiny.subscription.UniEmitter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Coalesces single-key lookups into batch lookups, in the manner of a DataLoader: every {@link #load(Object)}
+ * subscribed to within {@code maxWait} of the first one, up to {@code maxSize} distinct keys, is answered by a
+ * single call to the batch function. A key requested several times in a batch is looked up once.
+ * <p>
+ * {@code Duration.ZERO} waits for the next task of the executor only, so it coalesces the loads made in the same
+ * tick. With {@code transformToUni(loader::load).merge(n)} at most {@code n} loads are pending, which also caps
+ * the batch size.
+ * <p>
+ * The batch sizes are recorded in the {@code mutiny.batch.loader.size} distribution summary, next to the
+ * {@code mutiny.batch.loader.loads} counter, both tagged with {@code loader}.
+ */
+public class BatchLoader<K, V> {
+
+    private final static MeterRegistry NO_METRICS = new CompositeMeterRegistry();
+
+    private final int maxSize;
+    private final Duration maxWait;
+    private final ScheduledExecutorService executor;
+    private final Function<List<K>, Uni<Map<K, V>>> batchFunction;
+    private final MeterRegistry registry;
+    private final String name;
+    private final DistributionSummary batchSizes;
+    private final Counter loads;
+
+    // Guarded by this.
+    private Batch<K, V> pending;
+
+    private BatchLoader(int maxSize, Duration maxWait, ScheduledExecutorService executor,
+                        Function<List<K>, Uni<Map<K, V>>> batchFunction, MeterRegistry registry, String name) {
+        this.maxSize = ParameterValidation.positive(maxSize, "maxSize");
+        this.maxWait = ParameterValidation.nonNull(maxWait, "maxWait");
+        if (maxWait.isNegative()) {
+            throw new IllegalArgumentException("`maxWait` must not be negative");
+        }
+        this.executor = ParameterValidation.nonNull(executor, "executor");
+        this.batchFunction = ParameterValidation.nonNull(batchFunction, "batchFunction");
+        this.registry = ParameterValidation.nonNull(registry, "registry");
+        this.name = ParameterValidation.nonNull(name, "name");
+        this.batchSizes = DistributionSummary.builder("mutiny.batch.loader.size")
+                .tag("loader", name)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue((double) maxSize)
+                .register(registry);
+        this.loads = registry.counter("mutiny.batch.loader.loads", "loader", name);
+    }
+
+    /**
+     * @param batchFunction looks up a list of distinct keys, a key missing from the map is loaded as {@code null}
+     */
+    public static <K, V> BatchLoader<K, V> of(int maxSize, Duration maxWait,
+                                              Function<List<K>, Uni<Map<K, V>>> batchFunction) {
+        return new BatchLoader<>(maxSize, maxWait, Infrastructure.getDefaultWorkerPool(), batchFunction,
+                NO_METRICS, "disabled");
+    }
+
+    /**
+     * A new loader, with no pending keys, whose window runs on {@code executor}.
+     */
+    public BatchLoader<K, V> withExecutor(ScheduledExecutorService executor) {
+        return new BatchLoader<>(maxSize, maxWait, executor, batchFunction, registry, name);
+    }
+
+    /**
+     * A new loader, with no pending keys, recording its meters in {@code registry}.
+     */
+    public BatchLoader<K, V> withMetrics(MeterRegistry registry, String name) {
+        return new BatchLoader<>(maxSize, maxWait, executor, batchFunction, registry, name);
+    }
+
+    /**
+     * The key joins the pending batch when the returned Uni is subscribed to. Cancelling it before the batch is
+     * dispatched withdraws the key if nobody else waits for it.
+     */
+    public Uni<V> load(K key) {
+        ParameterValidation.nonNull(key, "key");
+        return Uni.createFrom().emitter((emitter) -> enqueue(key, emitter));
+    }
+
+    private void enqueue(K key, UniEmitter<? super V> emitter) {
+        loads.increment();
+        Batch<K, V> full = null;
+        synchronized (this) {
+            Batch<K, V> batch = pending;
+            if (batch == null) {
+                batch = pending = new Batch<>();
+                Batch<K, V> scheduled = batch;
+                batch.timer = maxWait.isZero()
+                        ? executor.submit(() -> dispatch(scheduled))
+                        : executor.schedule(() -> dispatch(scheduled), maxWait.toNanos(), TimeUnit.NANOSECONDS);
+            }
+            batch.waiters.computeIfAbsent(key, (k) -> new ArrayList<>()).add(emitter);
+            if (batch.waiters.size() == maxSize) {
+                pending = null;
+                full = batch;
+            }
+            Batch<K, V> joined = batch;
+            emitter.onTermination(() -> withdraw(joined, key, emitter));
+        }
+        if (full != null) {
+            full.timer.cancel(false);
+            send(full);
+        }
+    }
+
+    private void withdraw(Batch<K, V> batch, K key, UniEmitter<? super V> emitter) {
+        synchronized (this) {
+            if (pending != batch) {
+                return;
+            }
+            List<UniEmitter<? super V>> waiters = batch.waiters.get(key);
+            if (waiters != null && waiters.remove(emitter) && waiters.isEmpty()) {
+                batch.waiters.remove(key);
+            }
+        }
+    }
+
+    private void dispatch(Batch<K, V> batch) {
+        synchronized (this) {
+            if (pending != batch) {
+                return;
+            }
+            pending = null;
+        }
+        send(batch);
+    }
+
+    private void send(Batch<K, V> batch) {
+        if (batch.waiters.isEmpty()) {
+            return;
+        }
+        batchSizes.record(batch.waiters.size());
+        Uni<Map<K, V>> lookup;
+        try {
+            lookup = batchFunction.apply(new ArrayList<>(batch.waiters.keySet()));
+        } catch (Throwable failure) {
+            fail(batch, failure);
+            return;
+        }
+        if (lookup == null) {
+            fail(batch, new NullPointerException("The batch function returned `null`"));
+            return;
+        }
+        lookup.subscribe().with(
+                (values) -> batch.waiters.forEach((key, waiters) -> {
+                    V value = values == null ? null : values.get(key);
+                    waiters.forEach((emitter) -> emitter.complete(value));
+                }),
+                (failure) -> fail(batch, failure));
+    }
+
+    private void fail(Batch<K, V> batch, Throwable failure) {
+        batch.waiters.values().forEach((waiters) -> waiters.forEach((emitter) -> emitter.fail(failure)));
+    }
+
+    private static final class Batch<K, V> {
+        // Keys in load order, frozen once the batch leaves `pending`.
+        final Map<K, List<UniEmitter<? super V>>> waiters = new LinkedHashMap<>();
+        Future<?> timer;
+    }
+}
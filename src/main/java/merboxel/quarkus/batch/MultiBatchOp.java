@@ -0,0 +1,124 @@
+package merboxel.quarkus.batch;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.helpers.ParameterValidation;
+import io.smallrye.mutiny.operators.multi.AbstractMultiOperator;
+import io.smallrye.mutiny.subscription.MultiSubscriber;
+import merboxel.quarkus.operators.BufferingProcessor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Groups items into lists of at most {@code maxSize} items, flushing a partial list once {@code maxWait} elapsed
+ * since its first item.
+ * <p>
+ * Unlike {@code group().intoLists().of(size, duration)} a timed flush never outruns downstream demand: the batch is
+ * held until it is requested. Upstream is never asked for more than {@code maxSize} items that are not yet emitted,
+ * so the operator holds at most one batch worth of items.
+ */
+public class MultiBatchOp<T> extends AbstractMultiOperator<T, List<T>> {
+
+    private final int maxSize;
+    private final Duration maxWait;
+    private final ScheduledExecutorService executor;
+
+    public MultiBatchOp(Multi<? extends T> upstream, int maxSize, Duration maxWait, ScheduledExecutorService executor) {
+        super(upstream);
+        this.maxSize = ParameterValidation.positive(maxSize, "maxSize");
+        this.maxWait = ParameterValidation.validate(maxWait, "maxWait");
+        this.executor = ParameterValidation.nonNull(executor, "executor");
+    }
+
+    @Override
+    public void subscribe(MultiSubscriber<? super List<T>> downstream) {
+        ParameterValidation.nonNullNpe(downstream, "downstream");
+        upstream.subscribe().withSubscriber(new BatchProcessor<>(downstream, maxSize, maxWait, executor));
+    }
+
+    static final class BatchProcessor<T> extends BufferingProcessor<T, List<T>> {
+
+        private final int maxSize;
+        private final Duration maxWait;
+        private final ScheduledExecutorService executor;
+
+        private List<T> buffer;
+        private long outstanding;
+        private long generation;
+        private ScheduledFuture<?> timer;
+
+        BatchProcessor(MultiSubscriber<? super List<T>> downstream, int maxSize, Duration maxWait,
+                       ScheduledExecutorService executor) {
+            super(downstream);
+            this.maxSize = maxSize;
+            this.maxWait = maxWait;
+            this.executor = executor;
+            this.buffer = new ArrayList<>(maxSize);
+        }
+
+        @Override
+        public void onItem(T item) {
+            synchronized (this) {
+                outstanding--;
+                buffer.add(item);
+                if (buffer.size() == maxSize) {
+                    flush();
+                } else if (buffer.size() == 1) {
+                    long current = ++generation;
+                    timer = executor.schedule(() -> onTimeout(current), maxWait.toNanos(), TimeUnit.NANOSECONDS);
+                }
+            }
+            drain();
+        }
+
+        @Override
+        protected void flushOnCompletion() {
+            if (!buffer.isEmpty()) {
+                flush();
+            }
+        }
+
+        @Override
+        protected void release() {
+            cancelTimer();
+            buffer = new ArrayList<>(0);
+        }
+
+        @Override
+        protected long upstreamDemand() {
+            long toRequest = maxSize - outstanding - buffer.size();
+            outstanding += toRequest;
+            return toRequest;
+        }
+
+        private void onTimeout(long expected) {
+            synchronized (this) {
+                if (expected != generation || buffer.isEmpty()) {
+                    return;
+                }
+                flush();
+            }
+            drain();
+        }
+
+        // Must be called while holding the lock.
+        private void flush() {
+            cancelTimer();
+            generation++;
+            ready(buffer);
+            buffer = new ArrayList<>(maxSize);
+        }
+
+        // Must be called while holding the lock.
+        private void cancelTimer() {
+            if (timer != null) {
+                timer.cancel(false);
+                timer = null;
+            }
+        }
+    }
+}
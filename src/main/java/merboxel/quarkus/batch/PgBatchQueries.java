@@ -0,0 +1,51 @@
+package merboxel.quarkus.batch;
+
+import io.smallrye.mutiny.Multi;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.RowSet;
+import io.vertx.mutiny.sqlclient.SqlClient;
+import io.vertx.mutiny.sqlclient.Tuple;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * Batch queries for {@link StreamingBatcher} backed by a PostgreSQL {@link SqlClient}.
+ */
+public final class PgBatchQueries {
+
+    private PgBatchQueries() {
+    }
+
+    /**
+     * Sends the whole window as a single array parameter, {@code sql} is expected to filter with {@code = ANY($1)}.
+     */
+    public static <K> Function<List<K>, Multi<Row>> anyOf(SqlClient client, String sql, IntFunction<K[]> arrayFactory) {
+        return (keys) -> client.preparedQuery(sql)
+                .execute(Tuple.of(keys.toArray(arrayFactory)))
+                .onItem().transformToMulti(RowSet::toMulti);
+    }
+
+    /**
+     * Sends the window as one pipelined {@code executeBatch}, {@code sql} takes the key as {@code $1}.
+     */
+    public static <K> Function<List<K>, Multi<Row>> executeBatch(SqlClient client, String sql) {
+        return (keys) -> client.preparedQuery(sql)
+                .executeBatch(keys.stream().map(Tuple::of).toList())
+                .onItem().transformToMulti(PgBatchQueries::allRows);
+    }
+
+    /**
+     * {@code executeBatch} returns one {@link RowSet} per tuple chained through {@code next()}, while
+     * {@code RowSet::toMulti} only emits the rows of the first one.
+     */
+    public static Multi<Row> allRows(RowSet<Row> first) {
+        List<RowSet<Row>> rowSets = new ArrayList<>();
+        for (RowSet<Row> rowSet = first; rowSet != null; rowSet = rowSet.next()) {
+            rowSets.add(rowSet);
+        }
+        return Multi.createFrom().iterable(rowSets).onItem().transformToIterable((rowSet) -> rowSet);
+    }
+}
@@ -0,0 +1,57 @@
+package merboxel.quarkus.batch;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.helpers.ParameterValidation;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Function;
+
+/**
+ * Replaces a per-item lookup with one lookup per window of keys, to be used with {@code Multi.plug(...)}.
+ * <p>
+ * Keys are grouped by {@link MultiBatchOp} (at most {@code maxSize} keys, or whatever arrived within
+ * {@code maxWait}) and each window is passed to the batch query. At most {@code concurrency} batch queries are
+ * in flight, so both the number of round-trips and the number of buffered keys are bounded.
+ */
+public class StreamingBatcher<K, V> implements Function<Multi<K>, Multi<V>> {
+
+    private final int maxSize;
+    private final Duration maxWait;
+    private final int concurrency;
+    private final ScheduledExecutorService executor;
+    private final Function<List<K>, Multi<V>> batchQuery;
+
+    private StreamingBatcher(int maxSize, Duration maxWait, int concurrency, ScheduledExecutorService executor,
+                             Function<List<K>, Multi<V>> batchQuery) {
+        this.maxSize = ParameterValidation.positive(maxSize, "maxSize");
+        this.maxWait = ParameterValidation.validate(maxWait, "maxWait");
+        this.concurrency = ParameterValidation.positive(concurrency, "concurrency");
+        this.executor = ParameterValidation.nonNull(executor, "executor");
+        this.batchQuery = ParameterValidation.nonNull(batchQuery, "batchQuery");
+    }
+
+    public static <K, V> StreamingBatcher<K, V> of(int maxSize, Duration maxWait,
+                                                   Function<List<K>, Multi<V>> batchQuery) {
+        return new StreamingBatcher<>(maxSize, maxWait, 1, Infrastructure.getDefaultWorkerPool(), batchQuery);
+    }
+
+    public StreamingBatcher<K, V> withConcurrency(int concurrency) {
+        return new StreamingBatcher<>(maxSize, maxWait, concurrency, executor, batchQuery);
+    }
+
+    public StreamingBatcher<K, V> withExecutor(ScheduledExecutorService executor) {
+        return new StreamingBatcher<>(maxSize, maxWait, concurrency, executor, batchQuery);
+    }
+
+    @Override
+    public Multi<V> apply(Multi<K> keys) {
+        Multi<List<K>> batches = new MultiBatchOp<>(keys, maxSize, maxWait, executor);
+        if (concurrency == 1) {
+            return batches.onItem().transformToMulti(batchQuery).concatenate();
+        }
+        return batches.onItem().transformToMulti(batchQuery).merge(concurrency);
+    }
+}
@@ -0,0 +1,134 @@
+package merboxel.quarkus.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.ParameterValidation;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Memoizes the item of a keyed {@code Uni}, to be used with {@code onItem().transformToUni(cache::get)}.
+ * <p>
+ * Backed by a Caffeine {@link AsyncLoadingCache} (W-TinyLFU eviction): the first subscriber of a missing key
+ * subscribes to the loader and every concurrent subscriber of that key waits for the same result, so the loader
+ * runs once per key however many subscriptions arrive. Failures are not cached. Cancelling a subscription only
+ * detaches that subscriber, the load keeps running for the others.
+ */
+public class UniCache<K, V> {
+
+    private final Function<? super K, Uni<V>> loader;
+    private final long maximumSize;
+    private final Duration expireAfterWrite;
+    private final Duration refreshAfterWrite;
+    private final Ticker ticker;
+    private final Executor executor;
+    private final AsyncLoadingCache<K, V> cache;
+
+    private UniCache(Function<? super K, Uni<V>> loader, long maximumSize, Duration expireAfterWrite,
+                     Duration refreshAfterWrite, Ticker ticker, Executor executor) {
+        this.loader = ParameterValidation.nonNull(loader, "loader");
+        this.maximumSize = maximumSize;
+        this.expireAfterWrite = expireAfterWrite;
+        this.refreshAfterWrite = refreshAfterWrite;
+        this.ticker = ParameterValidation.nonNull(ticker, "ticker");
+        this.executor = ParameterValidation.nonNull(executor, "executor");
+
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .ticker(ticker)
+                .executor(executor)
+                .recordStats();
+        if (maximumSize >= 0) {
+            builder.maximumSize(maximumSize);
+        }
+        if (expireAfterWrite != null) {
+            builder.expireAfterWrite(expireAfterWrite);
+        }
+        if (refreshAfterWrite != null) {
+            builder.refreshAfterWrite(refreshAfterWrite);
+        }
+        this.cache = builder.buildAsync((key, ignored) -> load(key));
+    }
+
+    /**
+     * Unbounded cache without expiration, configure it with the {@code with...} methods.
+     */
+    public static <K, V> UniCache<K, V> of(Function<? super K, Uni<V>> loader) {
+        return new UniCache<>(loader, -1, null, null, Ticker.systemTicker(), Infrastructure.getDefaultExecutor());
+    }
+
+    public UniCache<K, V> withMaximumSize(long maximumSize) {
+        ParameterValidation.positiveOrZero(maximumSize, "maximumSize");
+        return new UniCache<>(loader, maximumSize, expireAfterWrite, refreshAfterWrite, ticker, executor);
+    }
+
+    public UniCache<K, V> withExpireAfterWrite(Duration expireAfterWrite) {
+        ParameterValidation.validate(expireAfterWrite, "expireAfterWrite");
+        return new UniCache<>(loader, maximumSize, expireAfterWrite, refreshAfterWrite, ticker, executor);
+    }
+
+    /**
+     * Entries older than {@code refreshAfterWrite} are still served, and the next access reloads them in the
+     * background.
+     */
+    public UniCache<K, V> withRefreshAfterWrite(Duration refreshAfterWrite) {
+        ParameterValidation.validate(refreshAfterWrite, "refreshAfterWrite");
+        return new UniCache<>(loader, maximumSize, expireAfterWrite, refreshAfterWrite, ticker, executor);
+    }
+
+    public UniCache<K, V> withTicker(Ticker ticker) {
+        return new UniCache<>(loader, maximumSize, expireAfterWrite, refreshAfterWrite, ticker, executor);
+    }
+
+    /**
+     * Executor running evictions, removal notifications and refreshes.
+     */
+    public UniCache<K, V> withExecutor(Executor executor) {
+        return new UniCache<>(loader, maximumSize, expireAfterWrite, refreshAfterWrite, ticker, executor);
+    }
+
+    public Uni<V> get(K key) {
+        ParameterValidation.nonNull(key, "key");
+        // Each subscriber gets a copy, cancelling it must not cancel the shared load.
+        return Uni.createFrom().completionStage(() -> cache.get(key).copy());
+    }
+
+    // A plain CompletableFuture, so Caffeine sees failures right away and does not keep failed entries.
+    private CompletableFuture<V> load(K key) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        loader.apply(key).subscribe().with(future::complete, future::completeExceptionally);
+        return future;
+    }
+
+    public void invalidate(K key) {
+        cache.synchronous().invalidate(key);
+    }
+
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    public long estimatedSize() {
+        return cache.synchronous().estimatedSize();
+    }
+
+    /**
+     * Runs the pending maintenance (evictions) right away instead of on the next cache operations.
+     */
+    public void cleanUp() {
+        cache.synchronous().cleanUp();
+    }
+
+    /**
+     * Hits, misses, load successes and failures, total load time and evictions since the cache was created.
+     */
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+}
@@ -0,0 +1,25 @@
+package merboxel.quarkus.chunked;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Items travelling together through a {@link ChunkedMulti}. The stages own the chunk while processing it and rewrite
+ * the array in place, so the element type changes along the chain.
+ */
+final class Chunk {
+
+    final Object[] items;
+    int size;
+
+    Chunk(Object[] items, int size) {
+        this.items = items;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> List<T> toList() {
+        return (List<T>) Collections.unmodifiableList(Arrays.asList(items).subList(0, size));
+    }
+}
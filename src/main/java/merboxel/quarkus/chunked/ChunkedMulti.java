@@ -0,0 +1,174 @@
+package merboxel.quarkus.chunked;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.ParameterValidation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collector;
+
+/**
+ * A {@code Multi} that moves its items in chunks, with the {@code onItem()}, {@code select()} and {@code collect()}
+ * groups of {@code Multi} applying their function to the whole chunk before passing it downstream.
+ * <p>
+ * The per-item work of a regular {@code Multi} stage (one {@code onItem} call, one demand update, the volatile
+ * reads in between) is paid once per chunk instead. Demand is expressed in chunks; {@link #toMulti()} goes back
+ * to one item per {@code onItem}.
+ */
+public final class ChunkedMulti<T> {
+
+    private final static int DEFAULT_CHUNK_SIZE = 256;
+
+    private final Multi<Chunk> chunks;
+
+    private ChunkedMulti(Multi<Chunk> chunks) {
+        this.chunks = chunks;
+    }
+
+    public static <T> ChunkedMulti<T> fromIterable(Iterable<T> iterable) {
+        return fromIterable(iterable, DEFAULT_CHUNK_SIZE);
+    }
+
+    public static <T> ChunkedMulti<T> fromIterable(Iterable<T> iterable, int chunkSize) {
+        ParameterValidation.nonNull(iterable, "iterable");
+        ParameterValidation.positive(chunkSize, "chunkSize");
+        return new ChunkedMulti<>(Multi.createFrom().generator(iterable::iterator, (iterator, emitter) -> {
+            Object[] items = new Object[chunkSize];
+            int size = 0;
+            while (size < chunkSize && iterator.hasNext()) {
+                items[size++] = ParameterValidation.nonNullNpe(iterator.next(), "item");
+            }
+            if (size > 0) {
+                emitter.emit(new Chunk(items, size));
+            }
+            if (!iterator.hasNext()) {
+                emitter.complete();
+            }
+            return iterator;
+        }));
+    }
+
+    /**
+     * Groups the items of {@code multi} into chunks of at most {@code chunkSize} items.
+     */
+    public static <T> ChunkedMulti<T> from(Multi<T> multi, int chunkSize) {
+        ParameterValidation.nonNull(multi, "multi");
+        ParameterValidation.positive(chunkSize, "chunkSize");
+        return new ChunkedMulti<>(multi.group().intoLists().of(chunkSize)
+                .onItem().transform((list) -> new Chunk(list.toArray(), list.size())));
+    }
+
+    public OnItem<T> onItem() {
+        return new OnItem<>(chunks);
+    }
+
+    public Select<T> select() {
+        return new Select<>(chunks);
+    }
+
+    public Collect<T> collect() {
+        return new Collect<>(chunks);
+    }
+
+    public Multi<T> toMulti() {
+        return chunks.onItem().transformToIterable(Chunk::<T>toList);
+    }
+
+    public Multi<List<T>> chunks() {
+        return chunks.onItem().transform(Chunk::toList);
+    }
+
+    public static final class OnItem<T> {
+
+        private final Multi<Chunk> chunks;
+
+        private OnItem(Multi<Chunk> chunks) {
+            this.chunks = chunks;
+        }
+
+        @SuppressWarnings("unchecked")
+        public <R> ChunkedMulti<R> transform(Function<? super T, ? extends R> mapper) {
+            ParameterValidation.nonNull(mapper, "mapper");
+            return new ChunkedMulti<>(chunks.onItem().invoke((chunk) -> {
+                Object[] items = chunk.items;
+                for (int i = 0; i < chunk.size; i++) {
+                    items[i] = ParameterValidation.nonNullNpe(mapper.apply((T) items[i]), "mapped item");
+                }
+            }));
+        }
+
+        @SuppressWarnings("unchecked")
+        public ChunkedMulti<T> invoke(Consumer<? super T> callback) {
+            ParameterValidation.nonNull(callback, "callback");
+            return new ChunkedMulti<>(chunks.onItem().invoke((chunk) -> {
+                Object[] items = chunk.items;
+                for (int i = 0; i < chunk.size; i++) {
+                    callback.accept((T) items[i]);
+                }
+            }));
+        }
+    }
+
+    public static final class Select<T> {
+
+        private final Multi<Chunk> chunks;
+
+        private Select(Multi<Chunk> chunks) {
+            this.chunks = chunks;
+        }
+
+        @SuppressWarnings("unchecked")
+        public ChunkedMulti<T> where(Predicate<? super T> predicate) {
+            ParameterValidation.nonNull(predicate, "predicate");
+            return new ChunkedMulti<>(chunks.select().where((chunk) -> {
+                Object[] items = chunk.items;
+                int kept = 0;
+                for (int i = 0; i < chunk.size; i++) {
+                    Object item = items[i];
+                    if (predicate.test((T) item)) {
+                        items[kept++] = item;
+                    }
+                }
+                for (int i = kept; i < chunk.size; i++) {
+                    items[i] = null;
+                }
+                chunk.size = kept;
+                return kept > 0;
+            }));
+        }
+    }
+
+    public static final class Collect<T> {
+
+        private final Multi<Chunk> chunks;
+
+        private Collect(Multi<Chunk> chunks) {
+            this.chunks = chunks;
+        }
+
+        @SuppressWarnings("unchecked")
+        public Uni<List<T>> asList() {
+            return chunks.collect().in(ArrayList::new, (list, chunk) -> {
+                for (int i = 0; i < chunk.size; i++) {
+                    list.add((T) chunk.items[i]);
+                }
+            });
+        }
+
+        @SuppressWarnings("unchecked")
+        public <X, A> Uni<X> with(Collector<? super T, A, ? extends X> collector) {
+            ParameterValidation.nonNull(collector, "collector");
+            BiConsumer<A, ? super T> accumulator = collector.accumulator();
+            return chunks.collect().in(collector.supplier(), (container, chunk) -> {
+                for (int i = 0; i < chunk.size; i++) {
+                    accumulator.accept(container, (T) chunk.items[i]);
+                }
+            }).onItem().transform((container) -> collector.finisher().apply(container));
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package merboxel.quarkus.concurrency;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.ParameterValidation;
+import io.smallrye.mutiny.subscription.UniEmitter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Concurrency limit adjusted with AIMD (additive increase, multiplicative decrease).
+ * <p>
+ * Every operation holds a permit while it runs. When an operation completes within {@code latencyTolerance} times
+ * the lowest latency observed so far, the limit grows by {@code 1 / limit} (roughly one per round of completions).
+ * A slower completion multiplies the limit by {@code backoffRatio}, a failure halves it. Cancelled operations give
+ * their permit back without adjusting the limit.
+ */
+public class AdaptiveLimiter {
+
+    private final static double DEFAULT_LATENCY_TOLERANCE = 2.0;
+    private final static double DEFAULT_BACKOFF_RATIO = 0.9;
+    private final static double FAILURE_BACKOFF_RATIO = 0.5;
+    private final static double BASELINE_DRIFT = 0.01;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double latencyTolerance;
+    private final double backoffRatio;
+
+    private final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+    private double limit;
+    private int inFlight;
+    private double baselineNanos = Double.MAX_VALUE;
+
+    public AdaptiveLimiter(int initialLimit, int minLimit, int maxLimit) {
+        this(initialLimit, minLimit, maxLimit, DEFAULT_LATENCY_TOLERANCE, DEFAULT_BACKOFF_RATIO);
+    }
+
+    public AdaptiveLimiter(int initialLimit, int minLimit, int maxLimit, double latencyTolerance, double backoffRatio) {
+        this.minLimit = ParameterValidation.positive(minLimit, "minLimit");
+        this.maxLimit = ParameterValidation.positive(maxLimit, "maxLimit");
+        if (minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Expected minLimit <= initialLimit <= maxLimit");
+        }
+        if (latencyTolerance < 1.0) {
+            throw new IllegalArgumentException("`latencyTolerance` must be greater than or equal to 1");
+        }
+        if (backoffRatio <= 0.0 || backoffRatio >= 1.0) {
+            throw new IllegalArgumentException("`backoffRatio` must be between 0 and 1");
+        }
+        this.limit = initialLimit;
+        this.latencyTolerance = latencyTolerance;
+        this.backoffRatio = backoffRatio;
+    }
+
+    public synchronized int limit() {
+        return (int) limit;
+    }
+
+    public synchronized int inFlight() {
+        return inFlight;
+    }
+
+    public int maxLimit() {
+        return maxLimit;
+    }
+
+    /**
+     * Subscribes to the Uni once a permit is available and releases it when the Uni terminates.
+     */
+    public <T> Uni<T> submit(Supplier<Uni<? extends T>> supplier) {
+        return acquire().onItem().transformToUni((permit) -> {
+            Uni<? extends T> uni;
+            try {
+                permit.claim();
+                uni = supplier.get();
+            } catch (Throwable failure) {
+                permit.release(failure, false);
+                return Uni.createFrom().failure(failure);
+            }
+            return uni.onTermination().invoke((item, failure, cancelled) -> permit.release(failure, cancelled));
+        });
+    }
+
+    /**
+     * Subscribes to the Multi once a permit is available and releases it when the Multi terminates.
+     */
+    public <T> Multi<T> submitMulti(Supplier<Multi<? extends T>> supplier) {
+        return acquire().onItem().transformToMulti((permit) -> {
+            Multi<? extends T> multi;
+            try {
+                permit.claim();
+                multi = supplier.get();
+            } catch (Throwable failure) {
+                permit.release(failure, false);
+                return Multi.createFrom().failure(failure);
+            }
+            return multi.onTermination().invoke(permit::release);
+        });
+    }
+
+    Uni<Permit> acquire() {
+        return Uni.createFrom().emitter((emitter) -> {
+            Waiter waiter = new Waiter(emitter);
+            emitter.onTermination(waiter::terminated);
+            boolean granted;
+            synchronized (this) {
+                granted = waiters.isEmpty() && inFlight < (int) limit;
+                if (granted) {
+                    inFlight++;
+                    waiter.permit = new Permit();
+                } else {
+                    waiters.add(waiter);
+                }
+            }
+            if (granted) {
+                emitter.complete(waiter.permit);
+            }
+        });
+    }
+
+    private void onRelease(long latencyNanos, Throwable failure, boolean cancelled) {
+        List<Waiter> granted = new ArrayList<>();
+        synchronized (this) {
+            inFlight--;
+            if (!cancelled) {
+                adjust(latencyNanos, failure);
+            }
+            while (!waiters.isEmpty() && inFlight < (int) limit) {
+                Waiter waiter = waiters.poll();
+                inFlight++;
+                waiter.permit = new Permit();
+                granted.add(waiter);
+            }
+        }
+        for (Waiter waiter : granted) {
+            waiter.emitter.complete(waiter.permit);
+        }
+    }
+
+    // Must be called while holding the lock.
+    private void adjust(long latencyNanos, Throwable failure) {
+        if (failure != null) {
+            limit = Math.max(minLimit, limit * FAILURE_BACKOFF_RATIO);
+            return;
+        }
+        if (latencyNanos < baselineNanos) {
+            baselineNanos = latencyNanos;
+        } else {
+            baselineNanos += (latencyNanos - baselineNanos) * BASELINE_DRIFT;
+        }
+        if (latencyNanos > baselineNanos * latencyTolerance) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+        } else {
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+    }
+
+    private final class Waiter {
+
+        private final UniEmitter<? super Permit> emitter;
+        private Permit permit;
+
+        private Waiter(UniEmitter<? super Permit> emitter) {
+            this.emitter = emitter;
+        }
+
+        // Runs after the permit was delivered, or when the subscriber cancelled before that happened.
+        private void terminated() {
+            Permit unclaimed;
+            synchronized (AdaptiveLimiter.this) {
+                if (waiters.remove(this)) {
+                    return;
+                }
+                unclaimed = permit;
+            }
+            if (unclaimed != null && !unclaimed.claimed) {
+                unclaimed.release(null, true);
+            }
+        }
+    }
+
+    final class Permit {
+
+        private final long startNanos = System.nanoTime();
+        private final AtomicBoolean released = new AtomicBoolean();
+        private volatile boolean claimed;
+
+        private void claim() {
+            claimed = true;
+        }
+
+        void release(Throwable failure, boolean cancelled) {
+            if (released.compareAndSet(false, true)) {
+                onRelease(System.nanoTime() - startNanos, failure, cancelled);
+            }
+        }
+    }
+}
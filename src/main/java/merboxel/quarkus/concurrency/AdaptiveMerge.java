@@ -0,0 +1,33 @@
+package merboxel.quarkus.concurrency;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+
+import java.util.function.Function;
+
+/**
+ * {@code transformToUni(...).merge()} and {@code transformToMulti(...).merge()} bounded by an {@link AdaptiveLimiter},
+ * to be used with {@code Multi.plug(...)}.
+ * <p>
+ * Upstream is requested up to {@link AdaptiveLimiter#maxLimit()} items ahead, inner streams beyond the current limit
+ * wait for a permit before they are subscribed.
+ */
+public final class AdaptiveMerge {
+
+    private AdaptiveMerge() {
+    }
+
+    public static <T, R> Function<Multi<T>, Multi<R>> transformToUni(AdaptiveLimiter limiter,
+                                                                    Function<? super T, Uni<? extends R>> mapper) {
+        return (upstream) -> upstream.onItem()
+                .transformToUni((item) -> limiter.<R>submit(() -> mapper.apply(item)))
+                .merge(limiter.maxLimit());
+    }
+
+    public static <T, R> Function<Multi<T>, Multi<R>> transformToMulti(AdaptiveLimiter limiter,
+                                                                      Function<? super T, Multi<? extends R>> mapper) {
+        return (upstream) -> upstream.onItem()
+                .transformToMulti((item) -> limiter.<R>submitMulti(() -> mapper.apply(item)))
+                .merge(limiter.maxLimit());
+    }
+}
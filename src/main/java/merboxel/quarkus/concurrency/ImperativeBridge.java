@@ -0,0 +1,166 @@
+package merboxel.quarkus.concurrency;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.TimeoutException;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.ParameterValidation;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import io.smallrye.mutiny.subscription.UniSubscriber;
+import io.smallrye.mutiny.subscription.UniSubscription;
+import io.vertx.core.Context;
+
+import java.time.Duration;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Crossing from reactive to imperative code, for callers that are allowed to block.
+ * <p>
+ * Every method fails with an {@link IllegalStateException} on a Vert.x event loop, or on any thread Mutiny was told
+ * cannot block, instead of parking it and stalling (or deadlocking) the loop. Waiting parks the caller with
+ * {@link LockSupport}, which unmounts a virtual thread from its carrier, and an item already available at
+ * subscription is returned without parking at all.
+ */
+public final class ImperativeBridge {
+
+    private final static int DEFAULT_PREFETCH = 256;
+
+    private ImperativeBridge() {
+    }
+
+    /**
+     * Like {@code uni.await().indefinitely()}. Checked failures are wrapped in a {@link CompletionException}.
+     */
+    public static <T> T await(Uni<T> uni) {
+        return await(uni, null);
+    }
+
+    /**
+     * Like {@code uni.await().atMost(timeout)}: cancels the Uni and throws a {@link TimeoutException} once the
+     * timeout elapsed.
+     */
+    public static <T> T await(Uni<T> uni, Duration timeout) {
+        ParameterValidation.nonNull(uni, "uni");
+        if (timeout != null) {
+            ParameterValidation.validate(timeout, "timeout");
+        }
+        checkCanBlock();
+        AwaitSubscriber<T> subscriber = new AwaitSubscriber<>();
+        uni.subscribe().withSubscriber(subscriber);
+        return subscriber.await(timeout);
+    }
+
+    /**
+     * Iterates over the Multi keeping at most {@code prefetch} items requested ahead, see {@link #asStream}.
+     */
+    public static <T> Iterable<T> asIterable(Multi<T> multi, int prefetch) {
+        ParameterValidation.nonNull(multi, "multi");
+        ParameterValidation.positive(prefetch, "prefetch");
+        return () -> {
+            checkCanBlock();
+            PrefetchIterator<T> iterator = new PrefetchIterator<>(prefetch);
+            multi.subscribe().withSubscriber(iterator);
+            return iterator;
+        };
+    }
+
+    public static <T> Stream<T> asStream(Multi<T> multi) {
+        return asStream(multi, DEFAULT_PREFETCH);
+    }
+
+    /**
+     * Streams the Multi keeping at most {@code prefetch} items requested ahead: items are requested again once a
+     * quarter of the prefetch was consumed, so a slow consumer does not force the whole Multi into memory. Closing
+     * the stream cancels the subscription.
+     */
+    public static <T> Stream<T> asStream(Multi<T> multi, int prefetch) {
+        ParameterValidation.nonNull(multi, "multi");
+        ParameterValidation.positive(prefetch, "prefetch");
+        checkCanBlock();
+        PrefetchIterator<T> iterator = new PrefetchIterator<>(prefetch);
+        multi.subscribe().withSubscriber(iterator);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                .onClose(iterator::cancel);
+    }
+
+    static void checkCanBlock() {
+        if (Context.isOnEventLoopThread() || !Infrastructure.canCallerThreadBeBlocked()) {
+            throw new IllegalStateException("The current thread cannot be blocked: " + Thread.currentThread().getName());
+        }
+    }
+
+    static RuntimeException propagate(Throwable failure) {
+        if (failure instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (failure instanceof Error error) {
+            throw error;
+        }
+        return new CompletionException(failure);
+    }
+
+    private static final class AwaitSubscriber<T> implements UniSubscriber<T> {
+
+        private final Thread waiter = Thread.currentThread();
+        private final AtomicReference<UniSubscription> subscription = new AtomicReference<>();
+        private volatile boolean done;
+        private T item;
+        private Throwable failure;
+
+        @Override
+        public void onSubscribe(UniSubscription subscription) {
+            this.subscription.set(subscription);
+        }
+
+        @Override
+        public void onItem(T item) {
+            this.item = item;
+            done = true;
+            LockSupport.unpark(waiter);
+        }
+
+        @Override
+        public void onFailure(Throwable failure) {
+            this.failure = failure;
+            done = true;
+            LockSupport.unpark(waiter);
+        }
+
+        private T await(Duration timeout) {
+            long deadline = timeout == null ? 0 : System.nanoTime() + timeout.toNanos();
+            while (!done) {
+                if (timeout == null) {
+                    LockSupport.park(this);
+                } else {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        cancel();
+                        throw new TimeoutException();
+                    }
+                    LockSupport.parkNanos(this, remaining);
+                }
+                if (Thread.interrupted()) {
+                    cancel();
+                    Thread.currentThread().interrupt();
+                    throw new CompletionException(new InterruptedException());
+                }
+            }
+            if (failure != null) {
+                throw propagate(failure);
+            }
+            return item;
+        }
+
+        private void cancel() {
+            UniSubscription subscription = this.subscription.get();
+            if (subscription != null) {
+                subscription.cancel();
+            }
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package merboxel.quarkus.concurrency;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.helpers.ParameterValidation;
+import io.smallrye.mutiny.helpers.Subscriptions;
+import io.smallrye.mutiny.operators.multi.AbstractMultiOperator;
+import io.smallrye.mutiny.subscription.MultiSubscriber;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Subscribes to up to {@code concurrency} inner publishers at once but emits their items in upstream order, like
+ * {@code concatenate()} with the concurrency of {@code merge(concurrency)}.
+ * <p>
+ * Each inner publisher is requested {@code prefetch} items ahead, so at most {@code concurrency * prefetch} items are
+ * buffered while waiting for the inner publisher at the head to complete. A failure, upstream or inner, cancels
+ * everything and is propagated right away.
+ */
+public class MultiOrderedMergeOp<T, R> extends AbstractMultiOperator<T, R> {
+
+    private final Function<? super T, ? extends Flow.Publisher<? extends R>> mapper;
+    private final int concurrency;
+    private final int prefetch;
+
+    public MultiOrderedMergeOp(Multi<? extends T> upstream,
+                               Function<? super T, ? extends Flow.Publisher<? extends R>> mapper,
+                               int concurrency, int prefetch) {
+        super(upstream);
+        this.mapper = ParameterValidation.nonNull(mapper, "mapper");
+        this.concurrency = ParameterValidation.positive(concurrency, "concurrency");
+        this.prefetch = ParameterValidation.positive(prefetch, "prefetch");
+    }
+
+    @Override
+    public void subscribe(MultiSubscriber<? super R> downstream) {
+        ParameterValidation.nonNullNpe(downstream, "downstream");
+        upstream.subscribe().withSubscriber(new OrderedMergeProcessor<>(downstream, mapper, concurrency, prefetch));
+    }
+
+    static final class OrderedMergeProcessor<T, R> implements MultiSubscriber<T>, Flow.Subscription {
+
+        private final MultiSubscriber<? super R> downstream;
+        private final Function<? super T, ? extends Flow.Publisher<? extends R>> mapper;
+        private final int concurrency;
+        private final int prefetch;
+
+        private final ConcurrentLinkedQueue<InnerSubscriber<R>> inners = new ConcurrentLinkedQueue<>();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+
+        private volatile Flow.Subscription upstream;
+        private volatile boolean done;
+        private volatile boolean cancelled;
+
+        OrderedMergeProcessor(MultiSubscriber<? super R> downstream,
+                              Function<? super T, ? extends Flow.Publisher<? extends R>> mapper,
+                              int concurrency, int prefetch) {
+            this.downstream = downstream;
+            this.mapper = mapper;
+            this.concurrency = concurrency;
+            this.prefetch = prefetch;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            if (upstream != null) {
+                subscription.cancel();
+                return;
+            }
+            upstream = subscription;
+            downstream.onSubscribe(this);
+            subscription.request(concurrency);
+        }
+
+        @Override
+        public void onItem(T item) {
+            if (done || cancelled) {
+                return;
+            }
+            Flow.Publisher<? extends R> publisher;
+            try {
+                publisher = ParameterValidation.nonNullNpe(mapper.apply(item), "publisher");
+            } catch (Throwable e) {
+                upstream.cancel();
+                onFailure(e);
+                return;
+            }
+            InnerSubscriber<R> inner = new InnerSubscriber<>(this, prefetch);
+            inners.add(inner);
+            if (cancelled) {
+                inner.cancel();
+                return;
+            }
+            publisher.subscribe(inner);
+        }
+
+        @Override
+        public void onFailure(Throwable failure) {
+            if (done) {
+                return;
+            }
+            this.failure.compareAndSet(null, failure);
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void onCompletion() {
+            if (done) {
+                return;
+            }
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                downstream.onFailure(Subscriptions.getInvalidRequestException());
+                return;
+            }
+            Subscriptions.add(requested, n);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            upstream.cancel();
+            if (wip.getAndIncrement() == 0) {
+                cancelInners();
+            }
+        }
+
+        void innerFailed(Throwable failure) {
+            this.failure.compareAndSet(null, failure);
+            drain();
+        }
+
+        void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (;;) {
+                for (;;) {
+                    if (cancelled) {
+                        cancelInners();
+                        return;
+                    }
+                    if (failure.get() != null) {
+                        failAndCancel();
+                        return;
+                    }
+                    boolean terminated = done;
+                    InnerSubscriber<R> head = inners.peek();
+                    if (head == null) {
+                        if (terminated) {
+                            downstream.onCompletion();
+                            return;
+                        }
+                        break;
+                    }
+
+                    long r = requested.get();
+                    long emitted = 0;
+                    boolean headCompleted = false;
+                    while (emitted != r) {
+                        if (cancelled) {
+                            cancelInners();
+                            return;
+                        }
+                        if (failure.get() != null) {
+                            failAndCancel();
+                            return;
+                        }
+                        boolean innerDone = head.done;
+                        R item = head.queue.poll();
+                        if (item == null) {
+                            headCompleted = innerDone;
+                            break;
+                        }
+                        downstream.onItem(item);
+                        emitted++;
+                        head.consumed();
+                    }
+                    if (emitted == r) {
+                        boolean innerDone = head.done;
+                        headCompleted = innerDone && head.queue.isEmpty();
+                    }
+                    if (emitted != 0 && r != Long.MAX_VALUE) {
+                        requested.addAndGet(-emitted);
+                    }
+                    if (!headCompleted) {
+                        break;
+                    }
+                    inners.poll();
+                    if (!done) {
+                        upstream.request(1);
+                    }
+                }
+
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        private void failAndCancel() {
+            cancelled = true;
+            upstream.cancel();
+            cancelInners();
+            downstream.onFailure(failure.get());
+        }
+
+        private void cancelInners() {
+            InnerSubscriber<R> inner;
+            while ((inner = inners.poll()) != null) {
+                inner.cancel();
+            }
+        }
+    }
+
+    static final class InnerSubscriber<R> implements MultiSubscriber<R> {
+
+        private final OrderedMergeProcessor<?, R> parent;
+        private final int prefetch;
+        private final int limit;
+        private final AtomicReference<Flow.Subscription> subscription = new AtomicReference<>();
+        final ConcurrentLinkedQueue<R> queue = new ConcurrentLinkedQueue<>();
+        volatile boolean done;
+        private int consumed;
+
+        InnerSubscriber(OrderedMergeProcessor<?, R> parent, int prefetch) {
+            this.parent = parent;
+            this.prefetch = prefetch;
+            this.limit = prefetch - (prefetch >> 2);
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            if (this.subscription.compareAndSet(null, subscription)) {
+                subscription.request(prefetch);
+            } else {
+                subscription.cancel();
+            }
+        }
+
+        @Override
+        public void onItem(R item) {
+            queue.offer(item);
+            parent.drain();
+        }
+
+        @Override
+        public void onFailure(Throwable failure) {
+            done = true;
+            parent.innerFailed(failure);
+        }
+
+        @Override
+        public void onCompletion() {
+            done = true;
+            parent.drain();
+        }
+
+        // Only called from the drain loop.
+        void consumed() {
+            if (++consumed == limit) {
+                consumed = 0;
+                subscription.get().request(limit);
+            }
+        }
+
+        void cancel() {
+            Subscriptions.cancel(subscription);
+            queue.clear();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package merboxel.quarkus.concurrency;
+
+import io.smallrye.mutiny.Uni;
+
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Turns a blocking function into a Uni-returning one that runs on the given executor, to be used with
+ * {@code onItem().transformToUni(...)} followed by {@code merge(n)} or {@code concatenate()}.
+ */
+public final class Offload {
+
+    private Offload() {
+    }
+
+    public static <T, R> Function<T, Uni<? extends R>> blocking(Function<? super T, ? extends R> function, Executor executor) {
+        return (item) -> Uni.createFrom().<R>item(() -> function.apply(item)).runSubscriptionOn(executor);
+    }
+}
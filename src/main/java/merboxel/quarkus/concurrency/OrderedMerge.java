@@ -0,0 +1,33 @@
+package merboxel.quarkus.concurrency;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+
+import java.util.function.Function;
+
+/**
+ * Ordered counterparts of {@code transformToUni(...).merge(n)} and {@code transformToMulti(...).merge(n)}, to be used
+ * with {@code Multi.plug(...)}. See {@link MultiOrderedMergeOp}.
+ */
+public final class OrderedMerge {
+
+    private final static int DEFAULT_PREFETCH = 16;
+
+    private OrderedMerge() {
+    }
+
+    public static <T, R> Function<Multi<T>, Multi<R>> transformToUni(int concurrency,
+                                                                    Function<? super T, Uni<? extends R>> mapper) {
+        return (upstream) -> new MultiOrderedMergeOp<T, R>(upstream, (item) -> mapper.apply(item).toMulti(), concurrency, 1);
+    }
+
+    public static <T, R> Function<Multi<T>, Multi<R>> transformToMulti(int concurrency,
+                                                                      Function<? super T, Multi<? extends R>> mapper) {
+        return transformToMulti(concurrency, DEFAULT_PREFETCH, mapper);
+    }
+
+    public static <T, R> Function<Multi<T>, Multi<R>> transformToMulti(int concurrency, int prefetch,
+                                                                      Function<? super T, Multi<? extends R>> mapper) {
+        return (upstream) -> new MultiOrderedMergeOp<T, R>(upstream, mapper, concurrency, prefetch);
+    }
+}
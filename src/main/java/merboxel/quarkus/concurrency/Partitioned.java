@@ -0,0 +1,69 @@
+package merboxel.quarkus.concurrency;
+
+import io.smallrye.mutiny.GroupedMulti;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.ParameterValidation;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * Keyed counterparts of {@code transformToUni(...).merge(n)} and {@code transformToMulti(...).merge(n)}, to be used
+ * with {@code Multi.plug(...)}: items are hashed by key onto {@code lanes} lanes, each lane runs its items one after
+ * the other on its executor, and the lanes are merged back.
+ * <p>
+ * Items of one key keep their order, different keys run in parallel up to {@code lanes}. A lane holds at most the
+ * {@code emitOn} buffer of pending items. As with {@code group().by(...)}, a lane that stops consuming eventually
+ * stalls the others once the upstream buffer of the grouping is full.
+ */
+public final class Partitioned {
+
+    private Partitioned() {
+    }
+
+    /**
+     * Lanes run on Mutiny's default worker pool.
+     */
+    public static <T, R> Function<Multi<T>, Multi<R>> transformToUni(int lanes, Function<? super T, ?> key,
+                                                                    Function<? super T, Uni<? extends R>> mapper) {
+        return transformToUni(lanes, (lane) -> Infrastructure.getDefaultWorkerPool(), key, mapper);
+    }
+
+    /**
+     * @param laneExecutor the executor of each lane, from {@code 0} to {@code lanes - 1}, such as one Vert.x
+     *                     context per lane
+     */
+    public static <T, R> Function<Multi<T>, Multi<R>> transformToUni(int lanes, IntFunction<? extends Executor> laneExecutor,
+                                                                    Function<? super T, ?> key,
+                                                                    Function<? super T, Uni<? extends R>> mapper) {
+        ParameterValidation.nonNull(mapper, "mapper");
+        return partition(lanes, laneExecutor, key, (lane) -> lane.onItem().<R>transformToUni(mapper).concatenate());
+    }
+
+    public static <T, R> Function<Multi<T>, Multi<R>> transformToMulti(int lanes, Function<? super T, ?> key,
+                                                                      Function<? super T, Multi<? extends R>> mapper) {
+        return transformToMulti(lanes, (lane) -> Infrastructure.getDefaultWorkerPool(), key, mapper);
+    }
+
+    public static <T, R> Function<Multi<T>, Multi<R>> transformToMulti(int lanes, IntFunction<? extends Executor> laneExecutor,
+                                                                      Function<? super T, ?> key,
+                                                                      Function<? super T, Multi<? extends R>> mapper) {
+        ParameterValidation.nonNull(mapper, "mapper");
+        return partition(lanes, laneExecutor, key, (lane) -> lane.onItem().<R>transformToMulti(mapper).concatenate());
+    }
+
+    private static <T, R> Function<Multi<T>, Multi<R>> partition(int lanes, IntFunction<? extends Executor> laneExecutor,
+                                                                Function<? super T, ?> key,
+                                                                Function<Multi<T>, Multi<R>> serial) {
+        ParameterValidation.positive(lanes, "lanes");
+        ParameterValidation.nonNull(laneExecutor, "laneExecutor");
+        ParameterValidation.nonNull(key, "key");
+        return (upstream) -> upstream.group().by((item) -> Math.floorMod(key.apply(item).hashCode(), lanes))
+                .onItem().transformToMulti((GroupedMulti<Integer, T> lane) ->
+                        serial.apply(lane.emitOn(laneExecutor.apply(lane.key()))))
+                .merge(lanes);
+    }
+}
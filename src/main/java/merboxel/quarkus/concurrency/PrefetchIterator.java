@@ -0,0 +1,125 @@
+package merboxel.quarkus.concurrency;
+
+import io.smallrye.mutiny.helpers.Subscriptions;
+import io.smallrye.mutiny.subscription.MultiSubscriber;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Blocking iterator over a Multi with at most {@code prefetch} items outstanding. The consuming thread parks with
+ * {@link LockSupport} while the queue is empty, the upstream unparks it on every signal.
+ */
+final class PrefetchIterator<T> implements Iterator<T>, MultiSubscriber<T> {
+
+    private final int prefetch;
+    private final int replenishAt;
+    private final ConcurrentLinkedQueue<T> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicReference<Flow.Subscription> subscription = new AtomicReference<>();
+    private final AtomicReference<Thread> waiter = new AtomicReference<>();
+
+    private volatile boolean done;
+    private Throwable failure;
+    private T next;
+    private int consumed;
+
+    PrefetchIterator(int prefetch) {
+        this.prefetch = prefetch;
+        this.replenishAt = Math.max(1, prefetch / 4);
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        if (this.subscription.compareAndSet(null, subscription)) {
+            subscription.request(prefetch);
+        } else {
+            subscription.cancel();
+        }
+    }
+
+    @Override
+    public void onItem(T item) {
+        queue.offer(item);
+        wakeUp();
+    }
+
+    @Override
+    public void onFailure(Throwable failure) {
+        this.failure = failure;
+        done = true;
+        wakeUp();
+    }
+
+    @Override
+    public void onCompletion() {
+        done = true;
+        wakeUp();
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next != null) {
+            return true;
+        }
+        for (;;) {
+            boolean isDone = done;
+            T item = queue.poll();
+            if (item != null) {
+                next = item;
+                if (++consumed == replenishAt) {
+                    consumed = 0;
+                    subscription.get().request(replenishAt);
+                }
+                return true;
+            }
+            if (isDone) {
+                if (failure != null) {
+                    throw ImperativeBridge.propagate(failure);
+                }
+                return false;
+            }
+            ImperativeBridge.checkCanBlock();
+            waiter.set(Thread.currentThread());
+            if (queue.isEmpty() && !done) {
+                LockSupport.park(this);
+            }
+            waiter.set(null);
+            if (Thread.interrupted()) {
+                cancel();
+                Thread.currentThread().interrupt();
+                throw new CompletionException(new InterruptedException());
+            }
+        }
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T item = next;
+        next = null;
+        return item;
+    }
+
+    void cancel() {
+        Flow.Subscription current = subscription.getAndSet(Subscriptions.CANCELLED);
+        if (current != null && current != Subscriptions.CANCELLED) {
+            current.cancel();
+        }
+        done = true;
+        queue.clear();
+    }
+
+    private void wakeUp() {
+        Thread thread = waiter.get();
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package merboxel.quarkus.concurrency;
+
+import io.smallrye.mutiny.helpers.ParameterValidation;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs every task on its own virtual thread, with at most {@code maxConcurrency} tasks running at once. Extra tasks
+ * are queued without blocking the submitting thread.
+ * <p>
+ * Meant for {@code runSubscriptionOn(...)} and {@code emitOn(...)} in front of blocking stages (JDBC, file I/O, legacy
+ * clients): blocking parks the virtual thread and frees its carrier, while the cap keeps a pipeline from flooding the
+ * resource it blocks on.
+ * <p>
+ * {@link #close()} runs the queued tasks and waits for them like {@link ExecutorService#close()}, tasks submitted
+ * afterwards are rejected with a {@link RejectedExecutionException}.
+ */
+public class VirtualThreadExecutor implements Executor, AutoCloseable {
+
+    private final ExecutorService virtualThreads;
+    private final int maxConcurrency;
+    private final ConcurrentLinkedQueue<Runnable> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger running = new AtomicInteger();
+    private volatile boolean closed;
+
+    public VirtualThreadExecutor(String name, int maxConcurrency) {
+        ParameterValidation.nonNull(name, "name");
+        this.maxConcurrency = ParameterValidation.positive(maxConcurrency, "maxConcurrency");
+        this.virtualThreads = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + "-", 0).factory());
+    }
+
+    public int maxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public int running() {
+        return running.get();
+    }
+
+    public int pending() {
+        return pending.size();
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        ParameterValidation.nonNullNpe(task, "task");
+        if (closed) {
+            throw new RejectedExecutionException("The executor is closed");
+        }
+        pending.offer(task);
+        startPending();
+    }
+
+    /**
+     * Waits for the running and the queued tasks to complete. When interrupted, the queued tasks are dropped, the
+     * running ones are interrupted and the interrupt flag is restored.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            synchronized (this) {
+                while (running.get() > 0 || !pending.isEmpty()) {
+                    wait();
+                }
+            }
+            virtualThreads.close();
+        } catch (InterruptedException e) {
+            pending.clear();
+            virtualThreads.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void startPending() {
+        for (;;) {
+            int current = running.get();
+            if (current >= maxConcurrency || pending.isEmpty()) {
+                return;
+            }
+            if (!running.compareAndSet(current, current + 1)) {
+                continue;
+            }
+            Runnable task = pending.poll();
+            if (task == null) {
+                running.decrementAndGet();
+                continue;
+            }
+            try {
+                virtualThreads.execute(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        running.decrementAndGet();
+                        startPending();
+                        if (closed) {
+                            synchronized (this) {
+                                notifyAll();
+                            }
+                        }
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                running.decrementAndGet();
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package merboxel.quarkus.emitter;
+
+/**
+ * Emitter with a bounded buffer between the producer and the subscriber, see {@link BoundedEmitters}.
+ * Safe to use from several producer threads.
+ */
+public interface BoundedEmitter<T> {
+
+    /**
+     * @return {@code false} if the item was not accepted: dropped by {@link OverflowStrategy#DROP_NEWEST}, or the
+     * stream already terminated or got cancelled.
+     */
+    boolean emit(T item);
+
+    /**
+     * Completes the stream once the buffered items were delivered.
+     */
+    void complete();
+
+    /**
+     * Fails the stream once the buffered items were delivered.
+     */
+    void fail(Throwable failure);
+
+    boolean isCancelled();
+
+    /**
+     * Items waiting in the buffer for downstream demand.
+     */
+    int occupancy();
+
+    int capacity();
+
+    /**
+     * Items discarded by the overflow strategy so far.
+     */
+    long dropped();
+}
@@ -0,0 +1,228 @@
+package merboxel.quarkus.emitter;
+
+import io.smallrye.mutiny.helpers.Subscriptions;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import io.smallrye.mutiny.subscription.BackPressureFailure;
+import io.smallrye.mutiny.subscription.MultiSubscriber;
+
+import java.util.concurrent.Flow;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Producers offer into a {@link MpmcRingBuffer}, a single drain loop moves items to the subscriber as demand
+ * allows. With {@link OverflowStrategy#BLOCK} a semaphore holding one permit per free slot parks the producers.
+ */
+final class BoundedEmitterProcessor<T> implements BoundedEmitter<T>, Flow.Subscription {
+
+    private final MultiSubscriber<? super T> downstream;
+    private final OverflowStrategy overflow;
+    private final MpmcRingBuffer<T> buffer;
+    private final Semaphore freeSlots;
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    private volatile boolean done;
+    // fails without delivering the buffered items: an overflow with FAIL, or an invalid request
+    private volatile boolean aborted;
+    private volatile boolean cancelled;
+    private volatile boolean terminated;
+
+    BoundedEmitterProcessor(MultiSubscriber<? super T> downstream, int capacity, OverflowStrategy overflow) {
+        this.downstream = downstream;
+        this.overflow = overflow;
+        this.buffer = new MpmcRingBuffer<>(capacity);
+        this.freeSlots = overflow == OverflowStrategy.BLOCK ? new Semaphore(capacity) : null;
+    }
+
+    @Override
+    public boolean emit(T item) {
+        if (item == null) {
+            fail(new NullPointerException("`item` must not be `null`"));
+            return false;
+        }
+        if (done || cancelled) {
+            return false;
+        }
+        boolean accepted = switch (overflow) {
+            case DROP_NEWEST -> offerOrDrop(item);
+            case DROP_OLDEST -> offerEvictingOldest(item);
+            case BLOCK -> offerBlocking(item);
+            case FAIL -> offerOrFail(item);
+        };
+        if (accepted && terminated) {
+            // lost the race with the termination, the drain loop clears the item
+            dropped.increment();
+            accepted = false;
+        }
+        drain();
+        return accepted;
+    }
+
+    @Override
+    public void complete() {
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void fail(Throwable failure) {
+        if (failure == null) {
+            failure = new NullPointerException("`failure` must not be `null`");
+        }
+        if (this.failure.compareAndSet(null, failure)) {
+            done = true;
+            drain();
+        }
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public int occupancy() {
+        return buffer.size();
+    }
+
+    @Override
+    public int capacity() {
+        return buffer.capacity();
+    }
+
+    @Override
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    @Override
+    public void request(long n) {
+        if (n <= 0) {
+            failure.compareAndSet(null, Subscriptions.getInvalidRequestException());
+            aborted = true;
+            done = true;
+            drain();
+            return;
+        }
+        Subscriptions.add(requested, n);
+        drain();
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+        drain();
+    }
+
+    private boolean offerOrDrop(T item) {
+        if (buffer.offer(item)) {
+            return true;
+        }
+        dropped.increment();
+        return false;
+    }
+
+    private boolean offerEvictingOldest(T item) {
+        while (!buffer.offer(item)) {
+            if (buffer.poll() != null) {
+                dropped.increment();
+            }
+        }
+        return true;
+    }
+
+    private boolean offerBlocking(T item) {
+        if (!Infrastructure.canCallerThreadBeBlocked()) {
+            throw new IllegalStateException("The current thread cannot be blocked: " + Thread.currentThread().getName());
+        }
+        try {
+            freeSlots.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        if (done || cancelled || terminated) {
+            // pass the wake-up on to the next parked producer
+            freeSlots.release();
+            return false;
+        }
+        while (!buffer.offer(item)) {
+            Thread.onSpinWait();
+        }
+        return true;
+    }
+
+    private boolean offerOrFail(T item) {
+        if (buffer.offer(item)) {
+            return true;
+        }
+        if (failure.compareAndSet(null, new BackPressureFailure(
+                "The emitter buffer is full (" + buffer.capacity() + " items), the subscriber is too slow"))) {
+            aborted = true;
+            done = true;
+        }
+        return false;
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        for (;;) {
+            if (terminated) {
+                buffer.clear();
+            } else {
+                long r = requested.get();
+                long emitted = 0;
+                while (emitted != r) {
+                    if (cancelled || aborted) {
+                        break;
+                    }
+                    T item = buffer.poll();
+                    if (item == null) {
+                        break;
+                    }
+                    if (freeSlots != null) {
+                        freeSlots.release();
+                    }
+                    downstream.onItem(item);
+                    emitted++;
+                }
+                if (emitted != 0 && r != Long.MAX_VALUE) {
+                    requested.addAndGet(-emitted);
+                }
+                if (cancelled) {
+                    terminate();
+                } else if (aborted || (done && buffer.size() == 0)) {
+                    terminate();
+                    Throwable failure = this.failure.get();
+                    if (failure != null) {
+                        downstream.onFailure(failure);
+                    } else {
+                        downstream.onCompletion();
+                    }
+                }
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+
+    // Only called from the drain loop.
+    private void terminate() {
+        terminated = true;
+        buffer.clear();
+        if (freeSlots != null) {
+            freeSlots.release();
+        }
+    }
+}
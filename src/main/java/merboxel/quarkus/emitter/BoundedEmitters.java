@@ -0,0 +1,43 @@
+package merboxel.quarkus.emitter;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.helpers.ParameterValidation;
+import io.smallrye.mutiny.operators.AbstractMulti;
+import io.smallrye.mutiny.subscription.MultiSubscriber;
+
+import java.util.function.Consumer;
+
+/**
+ * {@code Multi.createFrom().emitter(...)} with a bounded buffer.
+ * <p>
+ * The default emitter buffers whatever the subscriber did not request yet without limit. Here at most
+ * {@code capacity} items wait for demand, and the {@link OverflowStrategy} decides what happens beyond that.
+ * {@link BoundedEmitter#occupancy()} and {@link BoundedEmitter#dropped()} expose the buffer state.
+ */
+public final class BoundedEmitters {
+
+    private BoundedEmitters() {
+    }
+
+    /**
+     * The producer is called once per subscription, after the subscriber received its subscription.
+     */
+    public static <T> Multi<T> create(int capacity, OverflowStrategy overflow, Consumer<BoundedEmitter<T>> producer) {
+        ParameterValidation.positive(capacity, "capacity");
+        ParameterValidation.nonNull(overflow, "overflow");
+        ParameterValidation.nonNull(producer, "producer");
+        return new AbstractMulti<>() {
+            @Override
+            public void subscribe(MultiSubscriber<? super T> downstream) {
+                ParameterValidation.nonNullNpe(downstream, "downstream");
+                BoundedEmitterProcessor<T> emitter = new BoundedEmitterProcessor<>(downstream, capacity, overflow);
+                downstream.onSubscribe(emitter);
+                try {
+                    producer.accept(emitter);
+                } catch (Throwable failure) {
+                    emitter.fail(failure);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,30 @@
+package merboxel.quarkus.emitter;
+
+/**
+ * Emitter that many threads may call at the same time without contending on a lock, see {@link FanInEmitters}.
+ */
+public interface FanInEmitter<T> {
+
+    /**
+     * @return {@code false} if the stream already terminated or got cancelled.
+     */
+    boolean emit(T item);
+
+    /**
+     * Completes the stream once the buffered items were delivered. Items emitted concurrently with this call may
+     * be lost, complete once every producer returned from its last {@link #emit}.
+     */
+    void complete();
+
+    /**
+     * Fails the stream once the buffered items were delivered.
+     */
+    void fail(Throwable failure);
+
+    boolean isCancelled();
+
+    /**
+     * Number of queues the producers are spread over.
+     */
+    int stripes();
+}
@@ -0,0 +1,174 @@
+package merboxel.quarkus.emitter;
+
+import io.smallrye.mutiny.helpers.Subscriptions;
+import io.smallrye.mutiny.subscription.MultiSubscriber;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Producers offer into the {@link MpscLinkedQueue} picked by their thread id. Whichever thread wins the work-in-progress
+ * counter runs the drain loop on behalf of everybody else, taking up to {@code STRIPE_BATCH} items from a stripe
+ * before moving to the next one, so one busy producer cannot starve the others. Only the drain loop signals the
+ * subscriber, which keeps the signals serial.
+ */
+final class FanInEmitterProcessor<T> implements FanInEmitter<T>, Flow.Subscription {
+
+    private final static int STRIPE_BATCH = 64;
+
+    private final MultiSubscriber<? super T> downstream;
+    private final List<MpscLinkedQueue<T>> queues;
+    private final int mask;
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    private volatile boolean done;
+    // fails without delivering the queued items, on an invalid request
+    private volatile boolean aborted;
+    private volatile boolean cancelled;
+    private volatile boolean terminated;
+
+    // drain loop only
+    private int nextStripe;
+
+    FanInEmitterProcessor(MultiSubscriber<? super T> downstream, int stripes) {
+        this.downstream = downstream;
+        List<MpscLinkedQueue<T>> queues = new ArrayList<>(stripes);
+        for (int i = 0; i < stripes; i++) {
+            queues.add(new MpscLinkedQueue<>());
+        }
+        this.queues = List.copyOf(queues);
+        this.mask = stripes - 1;
+    }
+
+    @Override
+    public boolean emit(T item) {
+        if (item == null) {
+            fail(new NullPointerException("`item` must not be `null`"));
+            return false;
+        }
+        if (done || cancelled) {
+            return false;
+        }
+        queues.get((int) Thread.currentThread().threadId() & mask).offer(item);
+        // a termination that won the race clears the item in the drain loop
+        boolean accepted = !terminated;
+        drain();
+        return accepted;
+    }
+
+    @Override
+    public void complete() {
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void fail(Throwable failure) {
+        if (failure == null) {
+            failure = new NullPointerException("`failure` must not be `null`");
+        }
+        if (this.failure.compareAndSet(null, failure)) {
+            done = true;
+            drain();
+        }
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public int stripes() {
+        return queues.size();
+    }
+
+    @Override
+    public void request(long n) {
+        if (n <= 0) {
+            failure.compareAndSet(null, Subscriptions.getInvalidRequestException());
+            aborted = true;
+            done = true;
+            drain();
+            return;
+        }
+        Subscriptions.add(requested, n);
+        drain();
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+        drain();
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        for (;;) {
+            if (terminated) {
+                clear();
+            } else {
+                long r = requested.get();
+                long emitted = 0;
+                int empty = 0;
+                // visit the stripes round-robin until a full lap found nothing or the demand ran out
+                while (emitted != r && empty < queues.size() && !cancelled && !aborted) {
+                    MpscLinkedQueue<T> queue = queues.get(nextStripe);
+                    nextStripe = (nextStripe + 1) & mask;
+                    int taken = 0;
+                    T item;
+                    while (taken < STRIPE_BATCH && emitted != r && (item = queue.poll()) != null) {
+                        downstream.onItem(item);
+                        taken++;
+                        emitted++;
+                    }
+                    empty = taken == 0 ? empty + 1 : 0;
+                }
+                if (emitted != 0 && r != Long.MAX_VALUE) {
+                    requested.addAndGet(-emitted);
+                }
+                if (cancelled) {
+                    terminated = true;
+                    clear();
+                } else if (aborted || (done && isEmpty())) {
+                    terminated = true;
+                    clear();
+                    Throwable failure = this.failure.get();
+                    if (failure != null) {
+                        downstream.onFailure(failure);
+                    } else {
+                        downstream.onCompletion();
+                    }
+                }
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+
+    private boolean isEmpty() {
+        for (MpscLinkedQueue<T> queue : queues) {
+            if (!queue.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void clear() {
+        for (MpscLinkedQueue<T> queue : queues) {
+            queue.clear();
+        }
+    }
+}
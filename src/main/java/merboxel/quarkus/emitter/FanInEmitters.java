@@ -0,0 +1,53 @@
+package merboxel.quarkus.emitter;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.helpers.ParameterValidation;
+import io.smallrye.mutiny.operators.AbstractMulti;
+import io.smallrye.mutiny.subscription.MultiSubscriber;
+
+import java.util.function.Consumer;
+
+/**
+ * Fan-in source for many threads emitting at the same time, such as the Vert.x event loops of an ingestion path.
+ * <p>
+ * {@code Multi.createFrom().emitter(...)} serializes concurrent {@code emit} calls behind a lock. Here each producer
+ * thread appends to one of several lock-free queues and a single drain loop hands the items to the subscriber, one
+ * signal at a time. Items of a given producer thread keep their order, items of different threads interleave.
+ * Like the default emitter, items waiting for demand are buffered without limit, see {@link BoundedEmitters} for a
+ * bounded variant.
+ */
+public final class FanInEmitters {
+
+    private FanInEmitters() {
+    }
+
+    /**
+     * Spreads the producers over a queue per available processor.
+     */
+    public static <T> Multi<T> create(Consumer<FanInEmitter<T>> producer) {
+        return create(Runtime.getRuntime().availableProcessors(), producer);
+    }
+
+    /**
+     * @param stripes the number of queues, rounded up to a power of two. Producers whose thread ids collide share
+     *                a queue, which stays lock-free.
+     */
+    public static <T> Multi<T> create(int stripes, Consumer<FanInEmitter<T>> producer) {
+        ParameterValidation.positive(stripes, "stripes");
+        ParameterValidation.nonNull(producer, "producer");
+        int powerOfTwo = Integer.highestOneBit(stripes) == stripes ? stripes : Integer.highestOneBit(stripes) << 1;
+        return new AbstractMulti<>() {
+            @Override
+            public void subscribe(MultiSubscriber<? super T> downstream) {
+                ParameterValidation.nonNullNpe(downstream, "downstream");
+                FanInEmitterProcessor<T> emitter = new FanInEmitterProcessor<>(downstream, powerOfTwo);
+                downstream.onSubscribe(emitter);
+                try {
+                    producer.accept(emitter);
+                } catch (Throwable failure) {
+                    emitter.fail(failure);
+                }
+            }
+        };
+    }
+}
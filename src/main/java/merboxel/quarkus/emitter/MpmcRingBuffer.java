@@ -0,0 +1,86 @@
+package merboxel.quarkus.emitter;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free queue after Dmitry Vyukov's MPMC ring: every slot carries a sequence number telling producers
+ * and consumers whose turn it is, so {@code offer} and {@code poll} only CAS the tail or the head index.
+ * <p>
+ * The emitter drains it from a single consumer, but producers also {@code poll} to drop the oldest item, hence the
+ * multi-consumer variant.
+ */
+final class MpmcRingBuffer<E> {
+
+    private final int capacity;
+    private final AtomicReferenceArray<E> items;
+    private final AtomicLongArray sequences;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    MpmcRingBuffer(int capacity) {
+        this.capacity = capacity;
+        this.items = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    boolean offer(E item) {
+        long position = tail.get();
+        for (;;) {
+            int index = (int) (position % capacity);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    items.lazySet(index, item);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    E poll() {
+        long position = head.get();
+        for (;;) {
+            int index = (int) (position % capacity);
+            long difference = sequences.get(index) - (position + 1);
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    E item = items.get(index);
+                    items.lazySet(index, null);
+                    sequences.set(index, position + capacity);
+                    return item;
+                }
+                position = head.get();
+            } else if (difference < 0) {
+                return null;
+            } else {
+                position = head.get();
+            }
+        }
+    }
+
+    int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(capacity, size));
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    void clear() {
+        while (poll() != null) {
+            // drop
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package merboxel.quarkus.emitter;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Unbounded lock-free queue after Dmitry Vyukov's intrusive MPSC queue: a producer swaps itself in as the tail with a
+ * single {@code getAndSet}, never a CAS loop, and only the single consumer moves the head.
+ */
+final class MpscLinkedQueue<E> {
+
+    private final AtomicReference<Node<E>> tail;
+    private Node<E> head;
+
+    MpscLinkedQueue() {
+        Node<E> stub = new Node<>(null);
+        this.head = stub;
+        this.tail = new AtomicReference<>(stub);
+    }
+
+    void offer(E item) {
+        Node<E> node = new Node<>(item);
+        tail.getAndSet(node).setNext(node);
+    }
+
+    // Single consumer only. May miss an item whose producer swapped the tail but did not link it yet, that
+    // producer signals the drain loop again afterward.
+    E poll() {
+        Node<E> next = head.next;
+        if (next == null) {
+            return null;
+        }
+        E item = next.item;
+        next.item = null;
+        head = next;
+        return item;
+    }
+
+    boolean isEmpty() {
+        return head.next == null;
+    }
+
+    void clear() {
+        while (poll() != null) {
+            // drop
+        }
+    }
+
+    private static final class Node<E> {
+
+        private final static VarHandle NEXT;
+
+        static {
+            try {
+                NEXT = MethodHandles.lookup().findVarHandle(Node.class, "next", Node.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        private E item;
+        private volatile Node<E> next;
+
+        Node(E item) {
+            this.item = item;
+        }
+
+        // release store, the consumer reads `next` with a volatile load
+        void setNext(Node<E> node) {
+            NEXT.setRelease(this, node);
+        }
+    }
+}
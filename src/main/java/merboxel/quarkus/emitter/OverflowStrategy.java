@@ -0,0 +1,28 @@
+package merboxel.quarkus.emitter;
+
+/**
+ * What a {@link BoundedEmitter} does with an item emitted while its buffer is full.
+ */
+public enum OverflowStrategy {
+
+    /**
+     * Evicts the oldest buffered item to make room for the new one.
+     */
+    DROP_OLDEST,
+
+    /**
+     * Discards the new item.
+     */
+    DROP_NEWEST,
+
+    /**
+     * Parks the producer until the subscriber consumed an item. Only for threads that may block, such as virtual
+     * threads or worker threads.
+     */
+    BLOCK,
+
+    /**
+     * Fails the stream with a {@code BackPressureFailure}, buffered items are discarded.
+     */
+    FAIL
+}
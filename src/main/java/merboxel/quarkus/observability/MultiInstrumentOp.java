@@ -0,0 +1,90 @@
+package merboxel.quarkus.observability;
+
+import io.opentelemetry.api.trace.Tracer;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.helpers.ParameterValidation;
+import io.smallrye.mutiny.operators.multi.AbstractMultiOperator;
+import io.smallrye.mutiny.operators.multi.MultiOperatorProcessor;
+import io.smallrye.mutiny.subscription.MultiSubscriber;
+
+import java.util.concurrent.Flow;
+
+/**
+ * Feeds the events of every subscription to a {@link SubscriptionProbe}, in a single stage.
+ */
+class MultiInstrumentOp<T> extends AbstractMultiOperator<T, T> {
+
+    private final String pipeline;
+    private final PipelineMeters meters;
+    private final Tracer tracer;
+
+    MultiInstrumentOp(Multi<? extends T> upstream, String pipeline, PipelineMeters meters, Tracer tracer) {
+        super(upstream);
+        this.pipeline = pipeline;
+        this.meters = meters;
+        this.tracer = tracer;
+    }
+
+    @Override
+    public void subscribe(MultiSubscriber<? super T> downstream) {
+        ParameterValidation.nonNullNpe(downstream, "downstream");
+        upstream.subscribe().withSubscriber(new InstrumentProcessor<>(downstream, pipeline, meters, tracer));
+    }
+
+    static final class InstrumentProcessor<T> extends MultiOperatorProcessor<T, T> {
+
+        private final String pipeline;
+        private final PipelineMeters meters;
+        private final Tracer tracer;
+        private SubscriptionProbe probe;
+
+        InstrumentProcessor(MultiSubscriber<? super T> downstream, String pipeline, PipelineMeters meters,
+                            Tracer tracer) {
+            super(downstream);
+            this.pipeline = pipeline;
+            this.meters = meters;
+            this.tracer = tracer;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            if (probe == null) {
+                probe = new SubscriptionProbe(pipeline, meters, tracer);
+            }
+            super.onSubscribe(subscription);
+        }
+
+        @Override
+        public void onItem(T item) {
+            if (isDone()) {
+                return;
+            }
+            probe.item();
+            downstream.onItem(item);
+        }
+
+        @Override
+        public void request(long n) {
+            probe.requested(n);
+            super.request(n);
+        }
+
+        @Override
+        public void onFailure(Throwable failure) {
+            probe.failed(failure);
+            super.onFailure(failure);
+        }
+
+        @Override
+        public void onCompletion() {
+            probe.completed();
+            super.onCompletion();
+        }
+
+        @Override
+        public void cancel() {
+            probe.cancelled();
+            super.cancel();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package merboxel.quarkus.observability;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The meters of one pipeline, shared by all its subscriptions. Events are counted in {@link LongAdder}s that the
+ * registry reads through function counters, so the hot path never goes through the registry.
+ */
+final class PipelineMeters {
+
+    final LongAdder items = new LongAdder();
+    final LongAdder requested = new LongAdder();
+    final LongAdder subscriptions = new LongAdder();
+    final LongAdder completions = new LongAdder();
+    final LongAdder failures = new LongAdder();
+    final LongAdder cancellations = new LongAdder();
+    final Set<SubscriptionProbe> active = ConcurrentHashMap.newKeySet();
+    final Timer firstItem;
+
+    PipelineMeters(MeterRegistry registry, String pipeline) {
+        Tags tags = Tags.of("pipeline", pipeline);
+        counter(registry, "mutiny.pipeline.items", tags, items, "Items emitted");
+        counter(registry, "mutiny.pipeline.requested", tags, requested, "Items requested by bounded subscribers");
+        counter(registry, "mutiny.pipeline.subscriptions", tags, subscriptions, "Subscriptions");
+        counter(registry, "mutiny.pipeline.completions", tags, completions, "Subscriptions completed");
+        counter(registry, "mutiny.pipeline.failures", tags, failures, "Subscriptions failed");
+        counter(registry, "mutiny.pipeline.cancellations", tags, cancellations, "Subscriptions cancelled");
+        Gauge.builder("mutiny.pipeline.subscriptions.active", active, Set::size)
+                .tags(tags)
+                .description("Subscriptions not terminated yet")
+                .register(registry);
+        Gauge.builder("mutiny.pipeline.demand", this, PipelineMeters::outstandingDemand)
+                .tags(tags)
+                .description("Items requested but not emitted yet, over the active bounded subscriptions")
+                .register(registry);
+        this.firstItem = Timer.builder("mutiny.pipeline.first.item")
+                .tags(tags)
+                .description("Time from subscription to the first item")
+                .register(registry);
+    }
+
+    private static void counter(MeterRegistry registry, String name, Tags tags, LongAdder adder, String description) {
+        FunctionCounter.builder(name, adder, LongAdder::sum)
+                .tags(tags)
+                .description(description)
+                .register(registry);
+    }
+
+    private double outstandingDemand() {
+        long demand = 0;
+        for (SubscriptionProbe probe : active) {
+            demand += probe.outstanding();
+        }
+        return demand;
+    }
+}
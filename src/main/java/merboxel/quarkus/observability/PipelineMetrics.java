@@ -0,0 +1,122 @@
+package merboxel.quarkus.observability;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.opentelemetry.api.trace.Tracer;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.ParameterValidation;
+import merboxel.quarkus.concurrency.AdaptiveLimiter;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Turns the events of a pipeline into Micrometer metrics, to be used with {@code Multi.plug(...)} and
+ * {@code Uni.plug(...)} instead of {@code onItem().invoke(...)}/{@code onRequest().invoke(...)} observers.
+ * <p>
+ * Every pipeline name gets, tagged with {@code pipeline}:
+ * <ul>
+ *     <li>{@code mutiny.pipeline.items}, {@code mutiny.pipeline.requested} and {@code mutiny.pipeline.subscriptions}
+ *     counters,</li>
+ *     <li>{@code mutiny.pipeline.completions}, {@code mutiny.pipeline.failures} and
+ *     {@code mutiny.pipeline.cancellations} counters,</li>
+ *     <li>{@code mutiny.pipeline.subscriptions.active} and {@code mutiny.pipeline.demand} gauges,</li>
+ *     <li>a {@code mutiny.pipeline.first.item} timer (subscription to first item).</li>
+ * </ul>
+ * {@link #limiter(String, AdaptiveLimiter)} adds the {@code mutiny.pipeline.limit} and
+ * {@code mutiny.pipeline.in.flight} gauges of the limiter bounding the pipeline.
+ * With {@link #withTracer(Tracer)} every subscription is also traced as a span named after the pipeline.
+ * {@link #disabled()} plugs nothing at all, so instrumented pipelines cost nothing when metrics are off.
+ */
+public class PipelineMetrics {
+
+    private final static PipelineMetrics DISABLED = new PipelineMetrics(null, null, null);
+
+    private final MeterRegistry registry;
+    private final Tracer tracer;
+    private final ConcurrentMap<String, PipelineMeters> meters;
+
+    private PipelineMetrics(MeterRegistry registry, Tracer tracer, ConcurrentMap<String, PipelineMeters> meters) {
+        this.registry = registry;
+        this.tracer = tracer;
+        this.meters = meters;
+    }
+
+    public static PipelineMetrics of(MeterRegistry registry) {
+        return new PipelineMetrics(ParameterValidation.nonNull(registry, "registry"), null, new ConcurrentHashMap<>());
+    }
+
+    public static PipelineMetrics disabled() {
+        return DISABLED;
+    }
+
+    public PipelineMetrics withTracer(Tracer tracer) {
+        if (registry == null) {
+            return this;
+        }
+        return new PipelineMetrics(registry, ParameterValidation.nonNull(tracer, "tracer"), meters);
+    }
+
+    public <T> Function<Multi<T>, Multi<T>> multi(String pipeline) {
+        ParameterValidation.nonNull(pipeline, "pipeline");
+        if (registry == null) {
+            return Function.identity();
+        }
+        PipelineMeters pipelineMeters = meters(pipeline);
+        return (multi) -> new MultiInstrumentOp<>(multi, pipeline, pipelineMeters, tracer);
+    }
+
+    public <T> Function<Uni<T>, Uni<T>> uni(String pipeline) {
+        ParameterValidation.nonNull(pipeline, "pipeline");
+        if (registry == null) {
+            return Function.identity();
+        }
+        PipelineMeters pipelineMeters = meters(pipeline);
+        return (uni) -> Uni.createFrom().deferred(() -> {
+            SubscriptionProbe probe = new SubscriptionProbe(pipeline, pipelineMeters, tracer);
+            probe.unbounded();
+            return uni
+                    .onItem().invoke(probe::item)
+                    .onItemOrFailure().invoke((item, failure) -> {
+                        if (failure == null) {
+                            probe.completed();
+                        } else {
+                            probe.failed(failure);
+                        }
+                    })
+                    .onCancellation().invoke(probe::cancelled);
+        });
+    }
+
+    /**
+     * Reports the current limit and the operations in flight of {@code limiter}. Like any gauge they only hold a weak
+     * reference to it, and only the first limiter registered for a pipeline is reported.
+     *
+     * @return {@code limiter}
+     */
+    public AdaptiveLimiter limiter(String pipeline, AdaptiveLimiter limiter) {
+        ParameterValidation.nonNull(pipeline, "pipeline");
+        ParameterValidation.nonNull(limiter, "limiter");
+        if (registry == null) {
+            return limiter;
+        }
+        Tags tags = Tags.of("pipeline", pipeline);
+        Gauge.builder("mutiny.pipeline.limit", limiter, AdaptiveLimiter::limit)
+                .tags(tags)
+                .description("Concurrency limit of the adaptive limiter")
+                .register(registry);
+        Gauge.builder("mutiny.pipeline.in.flight", limiter, AdaptiveLimiter::inFlight)
+                .tags(tags)
+                .description("Operations holding a permit of the adaptive limiter")
+                .register(registry);
+        return limiter;
+    }
+
+    // The meters are registered once per name, later calls must feed the same adders.
+    private PipelineMeters meters(String pipeline) {
+        return meters.computeIfAbsent(pipeline, (name) -> new PipelineMeters(registry, name));
+    }
+}
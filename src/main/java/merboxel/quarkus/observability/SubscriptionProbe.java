@@ -0,0 +1,118 @@
+package merboxel.quarkus.observability;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records the events of one subscription into the {@link PipelineMeters} of its pipeline, and into a span when a
+ * tracer is set. Per item this costs a volatile write, and a {@code LongAdder} update every 1024 items;
+ * everything else happens once per request or per subscription.
+ */
+final class SubscriptionProbe {
+
+    // The items counter is fed in batches, it lags behind by less than this per active subscription.
+    private final static int ITEMS_FLUSH_MASK = 1023;
+
+    private final static AttributeKey<Long> ITEMS = AttributeKey.longKey("mutiny.items");
+    private final static AttributeKey<Boolean> CANCELLED = AttributeKey.booleanKey("mutiny.cancelled");
+
+    private final PipelineMeters meters;
+    private final Span span;
+    private final long subscribedAt = System.nanoTime();
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicBoolean terminated = new AtomicBoolean();
+    private volatile boolean unbounded;
+    // Written by the emitting thread only, volatile for the demand gauge and for a cancellation on another thread.
+    private volatile long emitted;
+
+    SubscriptionProbe(String pipeline, PipelineMeters meters, Tracer tracer) {
+        this.meters = meters;
+        this.span = tracer == null ? null : tracer.spanBuilder(pipeline).startSpan();
+        meters.subscriptions.increment();
+        meters.active.add(this);
+    }
+
+    void item() {
+        long count = emitted + 1;
+        emitted = count;
+        if (count == 1) {
+            meters.firstItem.record(System.nanoTime() - subscribedAt, TimeUnit.NANOSECONDS);
+        }
+        if ((count & ITEMS_FLUSH_MASK) == 0) {
+            meters.items.add(ITEMS_FLUSH_MASK + 1);
+        }
+    }
+
+    void requested(long n) {
+        if (n <= 0 || unbounded) {
+            return;
+        }
+        if (n == Long.MAX_VALUE) {
+            unbounded = true;
+            return;
+        }
+        meters.requested.add(n);
+        if (requested.addAndGet(n) < 0) {
+            unbounded = true;
+        }
+    }
+
+    void unbounded() {
+        unbounded = true;
+    }
+
+    void completed() {
+        if (terminate()) {
+            meters.completions.increment();
+            endSpan(false);
+        }
+    }
+
+    void failed(Throwable failure) {
+        if (terminate()) {
+            meters.failures.increment();
+            if (span != null) {
+                span.recordException(failure);
+                span.setStatus(StatusCode.ERROR);
+            }
+            endSpan(false);
+        }
+    }
+
+    void cancelled() {
+        if (terminate()) {
+            meters.cancellations.increment();
+            endSpan(true);
+        }
+    }
+
+    long outstanding() {
+        return unbounded ? 0 : Math.max(0, requested.get() - emitted);
+    }
+
+    private boolean terminate() {
+        if (terminated.compareAndSet(false, true)) {
+            meters.items.add(emitted & ITEMS_FLUSH_MASK);
+            meters.active.remove(this);
+            return true;
+        }
+        return false;
+    }
+
+    private void endSpan(boolean cancelled) {
+        if (span == null) {
+            return;
+        }
+        span.setAttribute(ITEMS, emitted);
+        if (cancelled) {
+            span.setAttribute(CANCELLED, true);
+        }
+        span.end();
+    }
+}
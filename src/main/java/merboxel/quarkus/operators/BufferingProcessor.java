@@ -0,0 +1,209 @@
+package merboxel.quarkus.operators;
+
+import io.smallrye.mutiny.helpers.Subscriptions;
+import io.smallrye.mutiny.subscription.MultiSubscriber;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Processor of the operators that turn items into results held in a {@code ready} queue until they are requested,
+ * such as batches or windows. Subclasses add results with {@link #ready(Object)} while holding the lock on
+ * {@code this}; the drain loop, the terminal signals and the demand towards upstream are handled here.
+ * <p>
+ * Upstream is only requested while no result is waiting and downstream has requested some, so the queue holds what
+ * the items already requested produce and never grows while downstream is paused. Not an API, shared by
+ * {@code MultiBatchOp} and {@code MultiWindowOp}.
+ */
+public abstract class BufferingProcessor<T, O> implements MultiSubscriber<T>, Flow.Subscription {
+
+    protected final MultiSubscriber<? super O> downstream;
+
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final ArrayDeque<O> ready = new ArrayDeque<>();
+
+    private volatile Flow.Subscription upstream;
+    private volatile boolean done;
+    private volatile boolean cancelled;
+    private Throwable failure;
+
+    protected BufferingProcessor(MultiSubscriber<? super O> downstream) {
+        this.downstream = downstream;
+    }
+
+    /**
+     * Called once with the upstream subscription, before downstream receives its own.
+     */
+    protected void onStart() {
+    }
+
+    /**
+     * Called with the lock held when upstream completes, to move the pending state to {@link #ready(Object)}.
+     */
+    protected abstract void flushOnCompletion();
+
+    /**
+     * Called with the lock held on failure, cancellation and completion, to stop timers and drop the pending state.
+     */
+    protected abstract void release();
+
+    /**
+     * Called with the lock held when upstream may be requested, returns how many items to request and accounts for
+     * them.
+     */
+    protected abstract long upstreamDemand();
+
+    @Override
+    public final void onSubscribe(Flow.Subscription subscription) {
+        if (upstream != null) {
+            subscription.cancel();
+            return;
+        }
+        upstream = subscription;
+        onStart();
+        downstream.onSubscribe(this);
+    }
+
+    @Override
+    public final void onFailure(Throwable failure) {
+        synchronized (this) {
+            this.failure = failure;
+            release();
+        }
+        done = true;
+        drain();
+    }
+
+    @Override
+    public final void onCompletion() {
+        synchronized (this) {
+            flushOnCompletion();
+            release();
+        }
+        done = true;
+        drain();
+    }
+
+    @Override
+    public final void request(long n) {
+        if (n <= 0) {
+            cancel();
+            downstream.onFailure(Subscriptions.getInvalidRequestException());
+            return;
+        }
+        Subscriptions.add(requested, n);
+        drain();
+    }
+
+    @Override
+    public final void cancel() {
+        cancelled = true;
+        synchronized (this) {
+            release();
+        }
+        upstream.cancel();
+        drain();
+    }
+
+    protected final boolean isTerminated() {
+        return done || cancelled;
+    }
+
+    // Must be called while holding the lock.
+    protected final void ready(O result) {
+        ready.add(result);
+    }
+
+    protected final void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        for (;;) {
+            if (cancelled) {
+                clear();
+                return;
+            }
+            long r = requested.get();
+            long emitted = 0;
+
+            while (emitted != r) {
+                if (cancelled) {
+                    clear();
+                    return;
+                }
+                boolean terminated = done;
+                O result;
+                Throwable error;
+                synchronized (this) {
+                    error = failure;
+                    result = error == null ? ready.poll() : null;
+                }
+                if (error != null) {
+                    clear();
+                    downstream.onFailure(error);
+                    return;
+                }
+                if (result == null) {
+                    if (terminated) {
+                        downstream.onCompletion();
+                        return;
+                    }
+                    break;
+                }
+                downstream.onItem(result);
+                emitted++;
+            }
+
+            if (emitted == r && done) {
+                boolean empty;
+                Throwable error;
+                synchronized (this) {
+                    error = failure;
+                    empty = ready.isEmpty();
+                }
+                if (error != null) {
+                    clear();
+                    downstream.onFailure(error);
+                    return;
+                }
+                if (empty) {
+                    downstream.onCompletion();
+                    return;
+                }
+            }
+
+            if (emitted != 0 && r != Long.MAX_VALUE) {
+                requested.addAndGet(-emitted);
+            }
+            requestUpstream();
+
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                break;
+            }
+        }
+    }
+
+    private void requestUpstream() {
+        long toRequest = 0;
+        synchronized (this) {
+            if (!done && !cancelled && ready.isEmpty() && requested.get() > 0) {
+                toRequest = upstreamDemand();
+            }
+        }
+        if (toRequest > 0) {
+            upstream.request(toRequest);
+        }
+    }
+
+    private void clear() {
+        synchronized (this) {
+            release();
+            ready.clear();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package merboxel.quarkus.primitive;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A batch of {@code long} values flowing through a {@link LongMulti}.
+ * <p>
+ * Chunks are owned by the stage currently processing them: {@code map}, {@code filter} and {@code windowSum} rewrite
+ * them in place, and the terminal operators hand them back to the source that allocated them once consumed. A chunk
+ * obtained from {@link LongMulti#chunks()} must therefore not be kept after the next one was requested.
+ */
+public final class LongChunk {
+
+    final long[] values;
+    int size;
+    private final LongChunkPool pool;
+
+    LongChunk(long[] values, int size, LongChunkPool pool) {
+        this.values = values;
+        this.size = size;
+        this.pool = pool;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return values[index];
+    }
+
+    public long[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    List<Long> toList() {
+        List<Long> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(values[i]);
+        }
+        return list;
+    }
+
+    void release() {
+        if (pool != null) {
+            pool.release(this);
+        }
+    }
+}
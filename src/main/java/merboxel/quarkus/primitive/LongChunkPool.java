@@ -0,0 +1,31 @@
+package merboxel.quarkus.primitive;
+
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Recycles the chunks of a single subscription, so a source only allocates new arrays while earlier ones are still
+ * in use downstream.
+ */
+final class LongChunkPool {
+
+    private final int chunkSize;
+    private final ArrayBlockingQueue<LongChunk> free;
+
+    LongChunkPool(int chunkSize, int capacity) {
+        this.chunkSize = chunkSize;
+        this.free = new ArrayBlockingQueue<>(capacity);
+    }
+
+    LongChunk acquire() {
+        LongChunk chunk = free.poll();
+        if (chunk == null) {
+            return new LongChunk(new long[chunkSize], 0, this);
+        }
+        return chunk;
+    }
+
+    void release(LongChunk chunk) {
+        chunk.size = 0;
+        free.offer(chunk);
+    }
+}
@@ -0,0 +1,71 @@
+package merboxel.quarkus.primitive;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.helpers.ParameterValidation;
+import io.smallrye.mutiny.helpers.Subscriptions;
+import io.smallrye.mutiny.operators.multi.AbstractMultiOperator;
+import io.smallrye.mutiny.operators.multi.MultiOperatorProcessor;
+import io.smallrye.mutiny.subscription.MultiSubscriber;
+
+import java.util.concurrent.Flow;
+
+/**
+ * Passes the first {@code count} values through, truncating the chunk that reaches the limit, then cancels the
+ * upstream and completes.
+ */
+class LongLimitOp extends AbstractMultiOperator<LongChunk, LongChunk> {
+
+    private final long count;
+
+    LongLimitOp(Multi<LongChunk> upstream, long count) {
+        super(upstream);
+        this.count = count;
+    }
+
+    @Override
+    public void subscribe(MultiSubscriber<? super LongChunk> downstream) {
+        ParameterValidation.nonNullNpe(downstream, "downstream");
+        upstream.subscribe().withSubscriber(new LongLimitProcessor(downstream, count));
+    }
+
+    static final class LongLimitProcessor extends MultiOperatorProcessor<LongChunk, LongChunk> {
+
+        private long remaining;
+
+        LongLimitProcessor(MultiSubscriber<? super LongChunk> downstream, long count) {
+            super(downstream);
+            this.remaining = count;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            if (!compareAndSetUpstreamSubscription(null, subscription)) {
+                subscription.cancel();
+                return;
+            }
+            if (remaining == 0) {
+                getAndSetUpstreamSubscription(Subscriptions.CANCELLED).cancel();
+                Subscriptions.complete(downstream);
+            } else {
+                downstream.onSubscribe(this);
+            }
+        }
+
+        @Override
+        public void onItem(LongChunk chunk) {
+            if (getUpstreamSubscription() == Subscriptions.CANCELLED) {
+                return;
+            }
+            if (chunk.size < remaining) {
+                remaining -= chunk.size;
+                downstream.onItem(chunk);
+                return;
+            }
+            chunk.size = (int) remaining;
+            remaining = 0;
+            getAndSetUpstreamSubscription(Subscriptions.CANCELLED).cancel();
+            downstream.onItem(chunk);
+            downstream.onCompletion();
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package merboxel.quarkus.primitive;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.ParameterValidation;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongPredicate;
+import java.util.function.LongSupplier;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * A stream of {@code long} values moved as {@link LongChunk}s instead of one boxed {@code Long} per item.
+ * <p>
+ * The sources recycle their chunks once a terminal operator ({@link #sum()}, {@link #count()}, {@link #reduce},
+ * {@link #collect()}) consumed them, and the intermediate operators work in place, so a pipeline built from this
+ * class allocates per chunk and per subscription rather than per value. Demand is expressed in chunks.
+ */
+public final class LongMulti {
+
+    private final static int DEFAULT_CHUNK_SIZE = 1024;
+    private final static int POOL_CAPACITY = 4;
+
+    private final Multi<LongChunk> chunks;
+
+    private LongMulti(Multi<LongChunk> chunks) {
+        this.chunks = chunks;
+    }
+
+    public static LongMulti range(long startInclusive, long endExclusive) {
+        return range(startInclusive, endExclusive, DEFAULT_CHUNK_SIZE);
+    }
+
+    public static LongMulti range(long startInclusive, long endExclusive, int chunkSize) {
+        ParameterValidation.positive(chunkSize, "chunkSize");
+        if (startInclusive >= endExclusive) {
+            return new LongMulti(Multi.createFrom().empty());
+        }
+        return new LongMulti(Multi.createFrom().generator(
+                () -> new Cursor(new LongChunkPool(chunkSize, POOL_CAPACITY), startInclusive),
+                (cursor, emitter) -> {
+                    LongChunk chunk = cursor.pool.acquire();
+                    // next < end, so the difference is right as an unsigned value even when it overflows a long
+                    long remaining = endExclusive - cursor.next;
+                    int size = Long.compareUnsigned(remaining, chunkSize) < 0 ? (int) remaining : chunkSize;
+                    for (int i = 0; i < size; i++) {
+                        chunk.values[i] = cursor.next++;
+                    }
+                    chunk.size = size;
+                    emitter.emit(chunk);
+                    if (cursor.next >= endExclusive) {
+                        emitter.complete();
+                    }
+                    return cursor;
+                }));
+    }
+
+    /**
+     * Endless stream of {@code seed}, {@code next(seed)}, {@code next(next(seed))}, ...
+     */
+    public static LongMulti iterate(long seed, LongUnaryOperator next) {
+        return iterate(seed, next, DEFAULT_CHUNK_SIZE);
+    }
+
+    public static LongMulti iterate(long seed, LongUnaryOperator next, int chunkSize) {
+        ParameterValidation.nonNull(next, "next");
+        ParameterValidation.positive(chunkSize, "chunkSize");
+        return new LongMulti(Multi.createFrom().generator(
+                () -> new Cursor(new LongChunkPool(chunkSize, POOL_CAPACITY), seed),
+                (cursor, emitter) -> {
+                    LongChunk chunk = cursor.pool.acquire();
+                    for (int i = 0; i < chunkSize; i++) {
+                        chunk.values[i] = cursor.next;
+                        cursor.next = next.applyAsLong(cursor.next);
+                    }
+                    chunk.size = chunkSize;
+                    emitter.emit(chunk);
+                    return cursor;
+                }));
+    }
+
+    /**
+     * Endless stream of the values returned by {@code supplier}.
+     */
+    public static LongMulti generate(LongSupplier supplier) {
+        return generate(supplier, DEFAULT_CHUNK_SIZE);
+    }
+
+    public static LongMulti generate(LongSupplier supplier, int chunkSize) {
+        ParameterValidation.nonNull(supplier, "supplier");
+        ParameterValidation.positive(chunkSize, "chunkSize");
+        return new LongMulti(Multi.createFrom().generator(
+                () -> new LongChunkPool(chunkSize, POOL_CAPACITY),
+                (pool, emitter) -> {
+                    LongChunk chunk = pool.acquire();
+                    for (int i = 0; i < chunkSize; i++) {
+                        chunk.values[i] = supplier.getAsLong();
+                    }
+                    chunk.size = chunkSize;
+                    emitter.emit(chunk);
+                    return pool;
+                }));
+    }
+
+    public static LongMulti of(long... values) {
+        ParameterValidation.nonNull(values, "values");
+        if (values.length == 0) {
+            return new LongMulti(Multi.createFrom().empty());
+        }
+        long[] copy = values.clone();
+        return new LongMulti(Multi.createFrom().item(() -> new LongChunk(copy.clone(), copy.length, null)));
+    }
+
+    /**
+     * Packs a boxed stream into chunks of at most {@code chunkSize} values.
+     */
+    public static LongMulti from(Multi<Long> multi, int chunkSize) {
+        ParameterValidation.nonNull(multi, "multi");
+        ParameterValidation.positive(chunkSize, "chunkSize");
+        return new LongMulti(multi.group().intoLists().of(chunkSize).onItem().transform((list) -> {
+            long[] values = new long[list.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = list.get(i);
+            }
+            return new LongChunk(values, values.length, null);
+        }));
+    }
+
+    /**
+     * Wraps a stream of arrays, one chunk per non-empty array. Each array is copied, since the
+     * operators write into the chunks in place.
+     */
+    public static LongMulti fromArrays(Multi<long[]> arrays) {
+        ParameterValidation.nonNull(arrays, "arrays");
+        return new LongMulti(arrays.select().where((array) -> array.length > 0)
+                .onItem().transform((array) -> new LongChunk(array.clone(), array.length, null)));
+    }
+
+    public LongMulti map(LongUnaryOperator mapper) {
+        ParameterValidation.nonNull(mapper, "mapper");
+        return new LongMulti(chunks.onItem().invoke((chunk) -> {
+            long[] values = chunk.values;
+            for (int i = 0; i < chunk.size; i++) {
+                values[i] = mapper.applyAsLong(values[i]);
+            }
+        }));
+    }
+
+    public LongMulti filter(LongPredicate predicate) {
+        ParameterValidation.nonNull(predicate, "predicate");
+        return new LongMulti(nonEmpty(chunks.onItem().invoke((chunk) -> {
+            long[] values = chunk.values;
+            int kept = 0;
+            for (int i = 0; i < chunk.size; i++) {
+                long value = values[i];
+                if (predicate.test(value)) {
+                    values[kept++] = value;
+                }
+            }
+            chunk.size = kept;
+        })));
+    }
+
+    /**
+     * Emits the first {@code count} values and cancels the upstream, which makes the endless sources usable.
+     */
+    public LongMulti limit(long count) {
+        return new LongMulti(new LongLimitOp(chunks, ParameterValidation.positiveOrZero(count, "count")));
+    }
+
+    /**
+     * Sums consecutive, non-overlapping windows of {@code windowSize} values. The last window is emitted on completion
+     * even if it is not full.
+     */
+    public LongMulti windowSum(int windowSize) {
+        ParameterValidation.positive(windowSize, "windowSize");
+        return new LongMulti(Multi.createFrom().deferred(() -> {
+            Window window = new Window(windowSize);
+            return nonEmpty(chunks.onItem().invoke(window::sum))
+                    .onCompletion().continueWith(window::remainder);
+        }));
+    }
+
+    public Uni<Long> sum() {
+        return reduce(0L, Long::sum);
+    }
+
+    public Uni<Long> count() {
+        return chunks.collect().in(() -> new long[1], (count, chunk) -> {
+            count[0] += chunk.size;
+            chunk.release();
+        }).onItem().transform((count) -> count[0]);
+    }
+
+    public Uni<Long> reduce(long identity, LongBinaryOperator accumulator) {
+        ParameterValidation.nonNull(accumulator, "accumulator");
+        return chunks.collect().in(() -> new long[] { identity }, (result, chunk) -> {
+            long value = result[0];
+            long[] values = chunk.values;
+            for (int i = 0; i < chunk.size; i++) {
+                value = accumulator.applyAsLong(value, values[i]);
+            }
+            result[0] = value;
+            chunk.release();
+        }).onItem().transform((result) -> result[0]);
+    }
+
+    public Uni<long[]> collect() {
+        return chunks.collect().in(Collector::new, Collector::add).onItem().transform(Collector::toArray);
+    }
+
+    /**
+     * Boxes every value, for interoperability with the regular {@code Multi} operators.
+     */
+    public Multi<Long> toMulti() {
+        return chunks.onItem().transformToIterable(LongChunk::toList);
+    }
+
+    public Multi<LongChunk> chunks() {
+        return chunks;
+    }
+
+    private static Multi<LongChunk> nonEmpty(Multi<LongChunk> chunks) {
+        return chunks.select().where((chunk) -> {
+            if (chunk.size == 0) {
+                chunk.release();
+                return false;
+            }
+            return true;
+        });
+    }
+
+    private static final class Cursor {
+
+        private final LongChunkPool pool;
+        private long next;
+
+        private Cursor(LongChunkPool pool, long next) {
+            this.pool = pool;
+            this.next = next;
+        }
+    }
+
+    private static final class Window {
+
+        private final int windowSize;
+        private long sum;
+        private int filled;
+
+        private Window(int windowSize) {
+            this.windowSize = windowSize;
+        }
+
+        // Every completed window consumes at least one value of the chunk, so the sums fit in front of them.
+        private void sum(LongChunk chunk) {
+            long[] values = chunk.values;
+            int emitted = 0;
+            for (int i = 0; i < chunk.size; i++) {
+                sum += values[i];
+                if (++filled == windowSize) {
+                    values[emitted++] = sum;
+                    sum = 0;
+                    filled = 0;
+                }
+            }
+            chunk.size = emitted;
+        }
+
+        private List<LongChunk> remainder() {
+            if (filled == 0) {
+                return List.of();
+            }
+            return List.of(new LongChunk(new long[] { sum }, 1, null));
+        }
+    }
+
+    private static final class Collector {
+
+        private long[] values = new long[DEFAULT_CHUNK_SIZE];
+        private int size;
+
+        private void add(LongChunk chunk) {
+            if (size + chunk.size > values.length) {
+                values = Arrays.copyOf(values, Math.max(values.length * 2, size + chunk.size));
+            }
+            System.arraycopy(chunk.values, 0, values, size, chunk.size);
+            size += chunk.size;
+            chunk.release();
+        }
+
+        private long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package merboxel.quarkus.resilience;
+
+import io.smallrye.mutiny.helpers.ParameterValidation;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Exponential backoff with full jitter: the delay before retry {@code n} (starting at 0) is drawn uniformly between
+ * zero and {@code min(max, initial * 2^n)}, so clients failing together do not retry together. Delays are rounded
+ * down to the millisecond, the resolution of Mutiny's timers.
+ */
+public final class Backoff {
+
+    private final Duration initial;
+    private final Duration max;
+    private final RandomGenerator random;
+
+    private Backoff(Duration initial, Duration max, RandomGenerator random) {
+        this.initial = ParameterValidation.validate(initial, "initial");
+        this.max = ParameterValidation.validate(max, "max");
+        if (max.compareTo(initial) < 0) {
+            throw new IllegalArgumentException("`max` must be greater than or equal to `initial`");
+        }
+        this.random = random;
+    }
+
+    public static Backoff exponential(Duration initial, Duration max) {
+        return new Backoff(initial, max, null);
+    }
+
+    /**
+     * A seeded generator makes the delays reproducible. Without it every draw uses {@link ThreadLocalRandom}.
+     */
+    public Backoff withRandom(RandomGenerator random) {
+        return new Backoff(initial, max, ParameterValidation.nonNull(random, "random"));
+    }
+
+    /**
+     * Upper bound of the delay before retry {@code retry}.
+     */
+    public Duration ceiling(int retry) {
+        ParameterValidation.positiveOrZero(retry, "retry");
+        if (retry >= Long.numberOfLeadingZeros(initial.toNanos())) {
+            return max;
+        }
+        long nanos = initial.toNanos() << retry;
+        return nanos >= max.toNanos() ? max : Duration.ofNanos(nanos);
+    }
+
+    public Duration delay(int retry) {
+        long ceiling = ceiling(retry).toNanos();
+        RandomGenerator generator = random != null ? random : ThreadLocalRandom.current();
+        return Duration.ofMillis((long) (generator.nextDouble() * ceiling) / 1_000_000L);
+    }
+}
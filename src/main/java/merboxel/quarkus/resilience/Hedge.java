@@ -0,0 +1,175 @@
+package merboxel.quarkus.resilience;
+
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.ParameterValidation;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import io.smallrye.mutiny.subscription.Cancellable;
+import io.smallrye.mutiny.subscription.UniEmitter;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Hedged requests, to be used with {@code Uni.plug(...)}: when the Uni has not answered within a quantile of its
+ * recent latencies (p95 by default), a second subscription is sent and whichever answers first wins, the other one
+ * is cancelled. {@code Uni.combine().any()} is not used because it does not cancel the losers once context
+ * propagation wraps its completion stages.
+ * <p>
+ * Until {@code minSamples} latencies were recorded in the {@link LatencyTracker}, the hedge is sent after
+ * {@code initialDelay}. A failure of either attempt fails the Uni, combine with {@link Retry} for failures. Only
+ * idempotent operations should be hedged.
+ * <p>
+ * The tracker only learns the latency of primary attempts. When the hedge wins, the time the cancelled primary had
+ * been running is recorded as a lower bound of its latency, otherwise the tracker would only see the faster of two
+ * attempts, its quantile would drift down and ever more hedges would be sent.
+ */
+public class Hedge<T> implements Function<Uni<T>, Uni<T>> {
+
+    private final static double DEFAULT_QUANTILE = 0.95;
+    private final static int DEFAULT_MIN_SAMPLES = 20;
+
+    private final LatencyTracker tracker;
+    private final Duration initialDelay;
+    private final double quantile;
+    private final int minSamples;
+    private final ScheduledExecutorService executor;
+    private final LongSupplier ticker;
+    private final ResilienceMetrics metrics;
+
+    private Hedge(LatencyTracker tracker, Duration initialDelay, double quantile, int minSamples,
+                  ScheduledExecutorService executor, LongSupplier ticker, ResilienceMetrics metrics) {
+        this.tracker = ParameterValidation.nonNull(tracker, "tracker");
+        this.initialDelay = ParameterValidation.validate(initialDelay, "initialDelay");
+        if (quantile <= 0.0 || quantile > 1.0) {
+            throw new IllegalArgumentException("`quantile` must be between 0 (excluded) and 1");
+        }
+        this.quantile = quantile;
+        this.minSamples = ParameterValidation.positive(minSamples, "minSamples");
+        this.executor = ParameterValidation.nonNull(executor, "executor");
+        this.ticker = ParameterValidation.nonNull(ticker, "ticker");
+        this.metrics = ParameterValidation.nonNull(metrics, "metrics");
+    }
+
+    public static <T> Hedge<T> of(LatencyTracker tracker, Duration initialDelay) {
+        return new Hedge<>(tracker, initialDelay, DEFAULT_QUANTILE, DEFAULT_MIN_SAMPLES,
+                Infrastructure.getDefaultWorkerPool(), System::nanoTime, ResilienceMetrics.disabled());
+    }
+
+    public Hedge<T> withQuantile(double quantile) {
+        return new Hedge<>(tracker, initialDelay, quantile, minSamples, executor, ticker, metrics);
+    }
+
+    public Hedge<T> withMinSamples(int minSamples) {
+        return new Hedge<>(tracker, initialDelay, quantile, minSamples, executor, ticker, metrics);
+    }
+
+    public Hedge<T> withExecutor(ScheduledExecutorService executor) {
+        return new Hedge<>(tracker, initialDelay, quantile, minSamples, executor, ticker, metrics);
+    }
+
+    /**
+     * Clock used to measure the latencies, in nanoseconds, {@code System::nanoTime} by default.
+     */
+    public Hedge<T> withTicker(LongSupplier ticker) {
+        return new Hedge<>(tracker, initialDelay, quantile, minSamples, executor, ticker, metrics);
+    }
+
+    public Hedge<T> withMetrics(ResilienceMetrics metrics) {
+        return new Hedge<>(tracker, initialDelay, quantile, minSamples, executor, ticker, metrics);
+    }
+
+    /**
+     * Delay before the hedge is sent.
+     */
+    public Duration delay() {
+        return tracker.count() < minSamples ? initialDelay : tracker.quantile(quantile);
+    }
+
+    @Override
+    public Uni<T> apply(Uni<T> upstream) {
+        return Uni.createFrom().emitter((emitter) -> new HedgedCall(upstream, emitter).start());
+    }
+
+    private Uni<T> counted(Uni<T> upstream) {
+        return upstream.onSubscription().invoke(() -> metrics.attempts.increment());
+    }
+
+    // Races the primary attempt against the hedge, the first one to terminate wins and everything else is cancelled.
+    private final class HedgedCall {
+
+        private final Uni<T> upstream;
+        private final UniEmitter<? super T> emitter;
+        private final AtomicBoolean done = new AtomicBoolean();
+        private volatile Cancellable primary;
+        private volatile Cancellable hedge;
+        private volatile ScheduledFuture<?> timer;
+        private final long primaryStart = ticker.getAsLong();
+
+        private HedgedCall(Uni<T> upstream, UniEmitter<? super T> emitter) {
+            this.upstream = upstream;
+            this.emitter = emitter;
+        }
+
+        private void start() {
+            emitter.onTermination(this::cancelAll);
+            primary = counted(upstream).subscribe().with((item) -> onItem(item, false), this::onFailure);
+            if (!done.get()) {
+                timer = executor.schedule(this::sendHedge, delay().toNanos(), TimeUnit.NANOSECONDS);
+            }
+            if (done.get()) {
+                cancelAll();
+            }
+        }
+
+        private void sendHedge() {
+            if (done.get()) {
+                return;
+            }
+            metrics.hedges.increment();
+            hedge = counted(upstream).subscribe().with((item) -> onItem(item, true), this::onFailure);
+            if (done.get()) {
+                cancelAll();
+            }
+        }
+
+        private void onItem(T item, boolean fromHedge) {
+            if (done.compareAndSet(false, true)) {
+                // the primary's latency, or a lower bound of it when the hedge won
+                tracker.record(ticker.getAsLong() - primaryStart);
+                if (fromHedge) {
+                    metrics.hedgesWon.increment();
+                }
+                cancelAll();
+                emitter.complete(item);
+            }
+        }
+
+        private void onFailure(Throwable failure) {
+            if (done.compareAndSet(false, true)) {
+                cancelAll();
+                emitter.fail(failure);
+            }
+        }
+
+        private void cancelAll() {
+            done.set(true);
+            ScheduledFuture<?> timer = this.timer;
+            if (timer != null) {
+                timer.cancel(false);
+            }
+            Cancellable primary = this.primary;
+            if (primary != null) {
+                primary.cancel();
+            }
+            Cancellable hedge = this.hedge;
+            if (hedge != null) {
+                hedge.cancel();
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package merboxel.quarkus.resilience;
+
+import io.smallrye.mutiny.helpers.ParameterValidation;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Quantiles over the last {@code window} latencies. The sorted copy is rebuilt every {@code RESORT_EVERY} samples,
+ * not on every read.
+ */
+public class LatencyTracker {
+
+    private final static int RESORT_EVERY = 32;
+
+    private final long[] samples;
+    private long count;
+    private long[] sorted = new long[0];
+    private long sortedAt = -1;
+
+    public LatencyTracker(int window) {
+        this.samples = new long[ParameterValidation.positive(window, "window")];
+    }
+
+    public synchronized void record(long nanos) {
+        samples[(int) (count % samples.length)] = nanos;
+        count++;
+    }
+
+    public synchronized long count() {
+        return count;
+    }
+
+    /**
+     * @return {@code null} while no latency was recorded
+     */
+    public synchronized Duration quantile(double quantile) {
+        if (quantile < 0.0 || quantile > 1.0) {
+            throw new IllegalArgumentException("`quantile` must be between 0 and 1");
+        }
+        if (count == 0) {
+            return null;
+        }
+        if (sortedAt < 0 || count - sortedAt >= RESORT_EVERY) {
+            sorted = Arrays.copyOf(samples, (int) Math.min(count, samples.length));
+            Arrays.sort(sorted);
+            sortedAt = count;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return Duration.ofNanos(sorted[Math.max(0, index)]);
+    }
+}
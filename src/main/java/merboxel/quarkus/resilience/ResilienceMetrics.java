@@ -0,0 +1,49 @@
+package merboxel.quarkus.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.smallrye.mutiny.helpers.ParameterValidation;
+
+/**
+ * Counters of a {@link Retry} or a {@link Hedge}, tagged with {@code operation}:
+ * <ul>
+ *     <li>{@code mutiny.resilience.attempts}: subscriptions to the wrapped Uni, retries and hedges included</li>
+ *     <li>{@code mutiny.resilience.retries} and {@code mutiny.resilience.retries.rejected} (retry budget empty)</li>
+ *     <li>{@code mutiny.resilience.timeouts}: attempts failed by the per-attempt timeout</li>
+ *     <li>{@code mutiny.resilience.hedges} and {@code mutiny.resilience.hedges.won} (the hedge answered first)</li>
+ * </ul>
+ */
+public final class ResilienceMetrics {
+
+    private final static ResilienceMetrics DISABLED = new ResilienceMetrics(new CompositeMeterRegistry(), "disabled");
+
+    final Counter attempts;
+    final Counter retries;
+    final Counter retriesRejected;
+    final Counter timeouts;
+    final Counter hedges;
+    final Counter hedgesWon;
+
+    private ResilienceMetrics(MeterRegistry registry, String operation) {
+        this.attempts = registry.counter("mutiny.resilience.attempts", "operation", operation);
+        this.retries = registry.counter("mutiny.resilience.retries", "operation", operation);
+        this.retriesRejected = registry.counter("mutiny.resilience.retries.rejected", "operation", operation);
+        this.timeouts = registry.counter("mutiny.resilience.timeouts", "operation", operation);
+        this.hedges = registry.counter("mutiny.resilience.hedges", "operation", operation);
+        this.hedgesWon = registry.counter("mutiny.resilience.hedges.won", "operation", operation);
+    }
+
+    public static ResilienceMetrics of(MeterRegistry registry, String operation) {
+        ParameterValidation.nonNull(registry, "registry");
+        ParameterValidation.nonNull(operation, "operation");
+        return new ResilienceMetrics(registry, operation);
+    }
+
+    /**
+     * No-op counters, the default.
+     */
+    public static ResilienceMetrics disabled() {
+        return DISABLED;
+    }
+}
@@ -0,0 +1,109 @@
+package merboxel.quarkus.resilience;
+
+import io.smallrye.mutiny.TimeoutException;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.ParameterValidation;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Resubscribes to a failed Uni after a {@link Backoff} delay, to be used with {@code Uni.plug(...)}.
+ * <p>
+ * Unlike {@code onFailure().retry().withBackOff(...)}, each attempt can be bounded by its own timeout (a
+ * {@link TimeoutException}, retried like any other failure), and retries can be drawn from a {@link RetryBudget}
+ * shared with other pipelines. Delays and timeouts run on the executor, the Mutiny worker pool by default.
+ */
+public class Retry<T> implements Function<Uni<T>, Uni<T>> {
+
+    private final int maxAttempts;
+    private final Backoff backoff;
+    private final Duration attemptTimeout;
+    private final RetryBudget budget;
+    private final Predicate<? super Throwable> retryOn;
+    private final ScheduledExecutorService executor;
+    private final ResilienceMetrics metrics;
+
+    private Retry(int maxAttempts, Backoff backoff, Duration attemptTimeout, RetryBudget budget,
+                  Predicate<? super Throwable> retryOn, ScheduledExecutorService executor, ResilienceMetrics metrics) {
+        this.maxAttempts = ParameterValidation.positive(maxAttempts, "maxAttempts");
+        this.backoff = ParameterValidation.nonNull(backoff, "backoff");
+        this.attemptTimeout = attemptTimeout;
+        this.budget = budget;
+        this.retryOn = ParameterValidation.nonNull(retryOn, "retryOn");
+        this.executor = ParameterValidation.nonNull(executor, "executor");
+        this.metrics = ParameterValidation.nonNull(metrics, "metrics");
+    }
+
+    /**
+     * @param maxAttempts attempts including the first one
+     */
+    public static <T> Retry<T> of(int maxAttempts, Backoff backoff) {
+        return new Retry<>(maxAttempts, backoff, null, null, (failure) -> true, Infrastructure.getDefaultWorkerPool(),
+                ResilienceMetrics.disabled());
+    }
+
+    public Retry<T> withAttemptTimeout(Duration attemptTimeout) {
+        ParameterValidation.validate(attemptTimeout, "attemptTimeout");
+        return new Retry<>(maxAttempts, backoff, attemptTimeout, budget, retryOn, executor, metrics);
+    }
+
+    public Retry<T> withBudget(RetryBudget budget) {
+        ParameterValidation.nonNull(budget, "budget");
+        return new Retry<>(maxAttempts, backoff, attemptTimeout, budget, retryOn, executor, metrics);
+    }
+
+    /**
+     * Failures not matching the predicate are propagated at once.
+     */
+    public Retry<T> withRetryOn(Predicate<? super Throwable> retryOn) {
+        return new Retry<>(maxAttempts, backoff, attemptTimeout, budget, retryOn, executor, metrics);
+    }
+
+    public Retry<T> withExecutor(ScheduledExecutorService executor) {
+        return new Retry<>(maxAttempts, backoff, attemptTimeout, budget, retryOn, executor, metrics);
+    }
+
+    public Retry<T> withMetrics(ResilienceMetrics metrics) {
+        return new Retry<>(maxAttempts, backoff, attemptTimeout, budget, retryOn, executor, metrics);
+    }
+
+    @Override
+    public Uni<T> apply(Uni<T> upstream) {
+        return Uni.createFrom().deferred(() -> {
+            if (budget != null) {
+                budget.deposit();
+            }
+            return attempt(upstream, 0);
+        });
+    }
+
+    private Uni<T> attempt(Uni<T> upstream, int retry) {
+        Uni<T> attempt = upstream.onSubscription().invoke(() -> metrics.attempts.increment());
+        if (attemptTimeout != null) {
+            attempt = attempt.ifNoItem().after(attemptTimeout).on(executor).fail()
+                    .onFailure(TimeoutException.class).invoke(() -> metrics.timeouts.increment());
+        }
+        return attempt.onFailure(retryOn).recoverWithUni((failure) -> {
+            if (retry + 1 >= maxAttempts) {
+                return Uni.createFrom().failure(failure);
+            }
+            if (budget != null && !budget.tryWithdraw()) {
+                metrics.retriesRejected.increment();
+                return Uni.createFrom().failure(failure);
+            }
+            metrics.retries.increment();
+            Duration delay = backoff.delay(retry);
+            if (delay.isZero()) {
+                // full jitter can draw no delay at all, which delayIt() refuses
+                return attempt(upstream, retry + 1);
+            }
+            return Uni.createFrom().voidItem()
+                    .onItem().delayIt().onExecutor(executor).by(delay)
+                    .onItem().transformToUni((ignored) -> attempt(upstream, retry + 1));
+        });
+    }
+}
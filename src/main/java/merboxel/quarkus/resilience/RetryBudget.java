@@ -0,0 +1,59 @@
+package merboxel.quarkus.resilience;
+
+import io.smallrye.mutiny.helpers.ParameterValidation;
+
+/**
+ * Token bucket capping retries to a fraction of the calls, shared by every {@link Retry} that uses it.
+ * <p>
+ * Each first attempt deposits {@code ratio} tokens and each retry withdraws one, the balance never exceeds
+ * {@code maxTokens} and starts full. When the dependency fails for everybody, retries stop once the bucket is empty
+ * instead of multiplying the load by the number of attempts.
+ */
+public class RetryBudget {
+
+    private final double ratio;
+    private final double maxTokens;
+    private double balance;
+    private long rejected;
+
+    private RetryBudget(double ratio, int maxTokens) {
+        if (ratio < 0.0) {
+            throw new IllegalArgumentException("`ratio` must be greater than or equal to 0");
+        }
+        this.ratio = ratio;
+        this.maxTokens = ParameterValidation.positive(maxTokens, "maxTokens");
+        this.balance = maxTokens;
+    }
+
+    /**
+     * @param ratio     retries allowed per call in the long run, {@code 0.1} allows one retry every 10 calls
+     * @param maxTokens retries allowed in a burst
+     */
+    public static RetryBudget of(double ratio, int maxTokens) {
+        return new RetryBudget(ratio, maxTokens);
+    }
+
+    synchronized void deposit() {
+        balance = Math.min(maxTokens, balance + ratio);
+    }
+
+    synchronized boolean tryWithdraw() {
+        if (balance >= 1.0) {
+            balance -= 1.0;
+            return true;
+        }
+        rejected++;
+        return false;
+    }
+
+    public synchronized double balance() {
+        return balance;
+    }
+
+    /**
+     * Retries refused because the bucket was empty.
+     */
+    public synchronized long rejected() {
+        return rejected;
+    }
+}
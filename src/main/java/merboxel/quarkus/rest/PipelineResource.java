@@ -0,0 +1,58 @@
+package merboxel.quarkus.rest;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.pgclient.PgPool;
+import io.vertx.mutiny.sqlclient.Tuple;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.QueryParam;
+
+import java.util.stream.Collectors;
+
+/**
+ * The pipelines of the {@code Mutiny*Test} classes behind HTTP, so that a packaged runner (JVM or native) can be
+ * started and measured from the outside. Each endpoint returns the sum of the items of its pipeline.
+ */
+@Path("/pipelines")
+public class PipelineResource {
+
+    // generate_series keeps the query independent from the test schema
+    private final static String PGPOOL_QUERY = "SELECT n FROM generate_series(1, $1) AS n";
+
+    @Inject
+    PgPool client;
+
+    @GET
+    @Path("/creations")
+    public Uni<Long> creations(@QueryParam("size") @DefaultValue("100") int size) {
+        return Multi.createFrom().range(0, size)
+                .collect().with(Collectors.summingLong((i) -> i));
+    }
+
+    @GET
+    @Path("/transform-sync")
+    public Uni<Long> transformSync(@QueryParam("size") @DefaultValue("100") int size) {
+        return Multi.createFrom().range(0, size)
+                .onItem().transform((i) -> i * 2)
+                .collect().with(Collectors.summingLong((i) -> i));
+    }
+
+    @GET
+    @Path("/transform-async")
+    public Uni<Long> transformAsync(@QueryParam("size") @DefaultValue("100") int size) {
+        return Multi.createFrom().range(0, size)
+                .onItem().transformToUni((i) -> Uni.createFrom().item(i * 2)).merge()
+                .collect().with(Collectors.summingLong((i) -> i));
+    }
+
+    @GET
+    @Path("/pgpool")
+    public Uni<Long> pgpool(@QueryParam("size") @DefaultValue("100") int size) {
+        return client.preparedQuery(PGPOOL_QUERY).execute(Tuple.of(size))
+                .onItem().transformToMulti((rows) -> rows.toMulti())
+                .collect().with(Collectors.summingLong((row) -> row.getInteger("n")));
+    }
+}
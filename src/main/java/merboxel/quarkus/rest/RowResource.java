@@ -0,0 +1,98 @@
+package merboxel.quarkus.rest;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.pgclient.PgPool;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.RowSet;
+import io.vertx.mutiny.sqlclient.Tuple;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import merboxel.quarkus.stream.PgRowStreams;
+import org.jboss.resteasy.reactive.RestStreamElementType;
+import org.jboss.resteasy.reactive.common.util.RestMediaType;
+
+import java.util.List;
+
+/**
+ * The PgPool pipelines of {@code MutinyTransformAsyncTest} over the schema of {@code src/test/resources/db}, each
+ * served twice: buffered, as a JSON array once every row is read, and streamed, as {@code application/x-ndjson}
+ * where every row is written as soon as it is read and the next one is only requested once the previous one was
+ * written, so a slow client slows the query down instead of filling the heap.
+ */
+@Path("/rows")
+public class RowResource {
+
+    private final static String TABLE_QUERY = """
+            SELECT * FROM "table" WHERE "column" = $1
+            """;
+    private final static String TABLE2_QUERY = """
+            SELECT * FROM table2 WHERE "column" = $1
+            """;
+    private final static String LARGE_TABLE_QUERY = "SELECT id, payload FROM large_table ORDER BY id LIMIT $1";
+
+    @RegisterForReflection
+    public record Child(int id, int parent, String name) {
+    }
+
+    @RegisterForReflection
+    public record Payload(int id, String payload) {
+    }
+
+    @Inject
+    PgPool client;
+
+    @GET
+    @Path("/children/{column}")
+    public Uni<List<Child>> children(@PathParam("column") int column) {
+        return childrenOf(column).collect().asList();
+    }
+
+    @GET
+    @Path("/children/{column}/stream")
+    @Produces(RestMediaType.APPLICATION_NDJSON)
+    @RestStreamElementType(MediaType.APPLICATION_JSON)
+    public Multi<Child> childrenStream(@PathParam("column") int column) {
+        return childrenOf(column);
+    }
+
+    @GET
+    @Path("/large")
+    public Uni<List<Payload>> large(@QueryParam("limit") @DefaultValue("10000") int limit) {
+        return client.preparedQuery(LARGE_TABLE_QUERY).execute(Tuple.of(limit))
+                .onItem().transformToMulti(RowSet::toMulti)
+                .onItem().transform(RowResource::payload)
+                .collect().asList();
+    }
+
+    @GET
+    @Path("/large/stream")
+    @Produces(RestMediaType.APPLICATION_NDJSON)
+    @RestStreamElementType(MediaType.APPLICATION_JSON)
+    public Multi<Payload> largeStream(@QueryParam("limit") @DefaultValue("10000") int limit) {
+        return PgRowStreams.stream(client, LARGE_TABLE_QUERY, Tuple.of(limit))
+                .onItem().transform(RowResource::payload);
+    }
+
+    // The rows of table2 under each row of "table" with that column, one child query at a time to keep their order.
+    private Multi<Child> childrenOf(int column) {
+        return client.preparedQuery(TABLE_QUERY).execute(Tuple.of(column))
+                .onItem().transformToMulti(RowSet::toMulti)
+                .onItem().transformToMulti((row) ->
+                        client.preparedQuery(TABLE2_QUERY).execute(Tuple.of(row.getInteger("id")))
+                                .onItem().transformToMulti(RowSet::toMulti)
+                ).concatenate()
+                .onItem().transform((row) -> new Child(row.getInteger("id"), row.getInteger("column"), row.getString("name")));
+    }
+
+    private static Payload payload(Row row) {
+        return new Payload(row.getInteger("id"), row.getString("payload"));
+    }
+}
@@ -0,0 +1,62 @@
+package merboxel.quarkus.stream;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.ParameterValidation;
+import io.vertx.mutiny.sqlclient.Pool;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.SqlConnection;
+import io.vertx.mutiny.sqlclient.Transaction;
+import io.vertx.mutiny.sqlclient.Tuple;
+
+/**
+ * Streams the rows of a query through a PostgreSQL cursor instead of materializing a {@code RowSet}.
+ * <p>
+ * The cursor is read {@code fetchSize} rows at a time and only while there is downstream demand, so the heap holds
+ * about one page whatever the size of the result, and the first row is emitted as soon as the first page arrived.
+ * A cursor needs a transaction: each subscription takes a connection from the pool, begins a transaction, and
+ * commits (on completion) or rolls back (on failure or cancellation) before giving the connection back.
+ */
+public final class PgRowStreams {
+
+    private final static int DEFAULT_FETCH_SIZE = 256;
+
+    private PgRowStreams() {
+    }
+
+    public static Multi<Row> stream(Pool pool, String sql, Tuple arguments) {
+        return stream(pool, sql, arguments, DEFAULT_FETCH_SIZE);
+    }
+
+    public static Multi<Row> stream(Pool pool, String sql, Tuple arguments, int fetchSize) {
+        ParameterValidation.nonNull(pool, "pool");
+        ParameterValidation.nonNull(sql, "sql");
+        ParameterValidation.nonNull(arguments, "arguments");
+        ParameterValidation.positive(fetchSize, "fetchSize");
+        return Multi.createFrom().resourceFromUni(
+                () -> pool.getConnection().onItem().transformToUni((connection) -> connection.begin()
+                        .onItem().transform((transaction) -> new Session(connection, transaction))
+                        .onFailure().call(connection::close)),
+                (session) -> session.connection.prepare(sql).onItem().transformToMulti((statement) ->
+                        statement.createStream(fetchSize, arguments).toMulti())
+        ).withFinalizer(
+                (session) -> session.end(true),
+                (session, failure) -> session.end(false),
+                (session) -> session.end(false));
+    }
+
+    private static final class Session {
+
+        private final SqlConnection connection;
+        private final Transaction transaction;
+
+        private Session(SqlConnection connection, Transaction transaction) {
+            this.connection = connection;
+            this.transaction = transaction;
+        }
+
+        private Uni<Void> end(boolean commit) {
+            return (commit ? transaction.commit() : transaction.rollback()).eventually(connection::close);
+        }
+    }
+}
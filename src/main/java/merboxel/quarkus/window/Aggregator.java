@@ -0,0 +1,21 @@
+package merboxel.quarkus.window;
+
+/**
+ * Incremental aggregation: a window owns one {@link Accumulator} and feeds it every item as it arrives, so the window
+ * state is the accumulator's, not the items'. See {@link Aggregators} for the usual ones.
+ */
+@FunctionalInterface
+public interface Aggregator<T, R> {
+
+    Accumulator<T, R> newAccumulator();
+
+    interface Accumulator<T, R> {
+
+        void add(T item);
+
+        /**
+         * Called once, when the window closes.
+         */
+        R result();
+    }
+}
@@ -0,0 +1,139 @@
+package merboxel.quarkus.window;
+
+import io.smallrye.mutiny.helpers.ParameterValidation;
+
+import java.util.Comparator;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * {@link Aggregator}s keeping constant state per window.
+ */
+public final class Aggregators {
+
+    private Aggregators() {
+    }
+
+    /**
+     * Builds an aggregator from a mutable state, like {@code Collector.of(...)} without the combiner.
+     */
+    public static <T, A, R> Aggregator<T, R> of(Supplier<A> state, BiConsumer<A, ? super T> add, Function<A, R> result) {
+        ParameterValidation.nonNull(state, "state");
+        ParameterValidation.nonNull(add, "add");
+        ParameterValidation.nonNull(result, "result");
+        return () -> new Aggregator.Accumulator<>() {
+            private final A current = state.get();
+
+            @Override
+            public void add(T item) {
+                add.accept(current, item);
+            }
+
+            @Override
+            public R result() {
+                return result.apply(current);
+            }
+        };
+    }
+
+    public static <T> Aggregator<T, Long> count() {
+        return () -> new Aggregator.Accumulator<>() {
+            private long count;
+
+            @Override
+            public void add(T item) {
+                count++;
+            }
+
+            @Override
+            public Long result() {
+                return count;
+            }
+        };
+    }
+
+    public static <T> Aggregator<T, Long> sum(ToLongFunction<? super T> value) {
+        ParameterValidation.nonNull(value, "value");
+        return () -> new Aggregator.Accumulator<>() {
+            private long sum;
+
+            @Override
+            public void add(T item) {
+                sum += value.applyAsLong(item);
+            }
+
+            @Override
+            public Long result() {
+                return sum;
+            }
+        };
+    }
+
+    /**
+     * @return {@code null} for an empty window
+     */
+    public static <T> Aggregator<T, T> min(Comparator<? super T> comparator) {
+        ParameterValidation.nonNull(comparator, "comparator");
+        return () -> new Aggregator.Accumulator<>() {
+            private T min;
+
+            @Override
+            public void add(T item) {
+                if (min == null || comparator.compare(item, min) < 0) {
+                    min = item;
+                }
+            }
+
+            @Override
+            public T result() {
+                return min;
+            }
+        };
+    }
+
+    /**
+     * @return {@code null} for an empty window
+     */
+    public static <T> Aggregator<T, T> max(Comparator<? super T> comparator) {
+        return min(comparator.reversed());
+    }
+
+    public static <T> Aggregator<T, WindowStats> stats(ToDoubleFunction<? super T> value) {
+        ParameterValidation.nonNull(value, "value");
+        return () -> new Aggregator.Accumulator<>() {
+            private long count;
+            private double sum;
+            private double min = Double.NaN;
+            private double max = Double.NaN;
+
+            @Override
+            public void add(T item) {
+                double v = value.applyAsDouble(item);
+                min = count == 0 ? v : Math.min(min, v);
+                max = count == 0 ? v : Math.max(max, v);
+                sum += v;
+                count++;
+            }
+
+            @Override
+            public WindowStats result() {
+                return new WindowStats(count, sum, min, max);
+            }
+        };
+    }
+
+    /**
+     * Percentile sketch with the given relative accuracy, {@code 0.01} for 1%.
+     */
+    public static <T> Aggregator<T, QuantileSketch> quantiles(ToDoubleFunction<? super T> value, double accuracy) {
+        ParameterValidation.nonNull(value, "value");
+        if (accuracy <= 0.0 || accuracy >= 1.0) {
+            throw new IllegalArgumentException("`accuracy` must be between 0 and 1");
+        }
+        return of(() -> new QuantileSketch(accuracy), (sketch, item) -> sketch.add(value.applyAsDouble(item)),
+                (sketch) -> sketch);
+    }
+}
@@ -0,0 +1,172 @@
+package merboxel.quarkus.window;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.helpers.ParameterValidation;
+import io.smallrye.mutiny.operators.multi.AbstractMultiOperator;
+import io.smallrye.mutiny.subscription.MultiSubscriber;
+import merboxel.quarkus.operators.BufferingProcessor;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aggregates items into windows of {@code size} that open every {@code slide}, counted in items, or in nanoseconds
+ * when an executor is given. {@code size} is a multiple of {@code slide}, so each item lands in
+ * {@code size / slide} windows and the operator holds that many accumulators, whatever the number of items.
+ * <p>
+ * Time windows are driven by a timer ticking every {@code slide}, windows without items produce no result. Results
+ * wait for downstream demand and upstream is only requested while no result is waiting, so a paused subscriber holds
+ * at most the results of {@code PREFETCH} items, however long it stays paused. On completion, the windows still open
+ * are emitted if they received an item.
+ */
+class MultiWindowOp<T, R> extends AbstractMultiOperator<T, WindowResult<R>> {
+
+    private final static int PREFETCH = 256;
+
+    private final long size;
+    private final long slide;
+    private final Aggregator<? super T, R> aggregator;
+    private final ScheduledExecutorService executor;
+
+    MultiWindowOp(Multi<? extends T> upstream, long size, long slide, Aggregator<? super T, R> aggregator,
+                  ScheduledExecutorService executor) {
+        super(upstream);
+        this.size = size;
+        this.slide = slide;
+        this.aggregator = aggregator;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(MultiSubscriber<? super WindowResult<R>> downstream) {
+        ParameterValidation.nonNullNpe(downstream, "downstream");
+        upstream.subscribe().withSubscriber(new WindowProcessor<>(downstream, size, slide, aggregator, executor));
+    }
+
+    static final class WindowProcessor<T, R> extends BufferingProcessor<T, WindowResult<R>> {
+
+        private final long size;
+        private final long slide;
+        private final Aggregator<? super T, R> aggregator;
+        private final ScheduledExecutorService executor;
+
+        private final ArrayDeque<OpenWindow<T, R>> open = new ArrayDeque<>();
+        private long position;
+        private long outstanding;
+        private ScheduledFuture<?> timer;
+
+        WindowProcessor(MultiSubscriber<? super WindowResult<R>> downstream, long size, long slide,
+                        Aggregator<? super T, R> aggregator, ScheduledExecutorService executor) {
+            super(downstream);
+            this.size = size;
+            this.slide = slide;
+            this.aggregator = aggregator;
+            this.executor = executor;
+        }
+
+        @Override
+        protected void onStart() {
+            if (executor != null) {
+                synchronized (this) {
+                    open.add(new OpenWindow<>(0, size, aggregator));
+                    timer = executor.scheduleAtFixedRate(this::onTick, slide, slide, TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+
+        @Override
+        public void onItem(T item) {
+            synchronized (this) {
+                outstanding--;
+                if (executor == null) {
+                    if (position % slide == 0) {
+                        open.add(new OpenWindow<>(position, position + size, aggregator));
+                    }
+                    position++;
+                }
+                for (OpenWindow<T, R> window : open) {
+                    window.add(item);
+                }
+                if (executor == null) {
+                    closeUpTo(position);
+                }
+            }
+            drain();
+        }
+
+        @Override
+        protected void flushOnCompletion() {
+            for (OpenWindow<T, R> window : open) {
+                if (window.count > 0) {
+                    ready(window.close());
+                }
+            }
+        }
+
+        @Override
+        protected void release() {
+            if (timer != null) {
+                timer.cancel(false);
+                timer = null;
+            }
+            open.clear();
+        }
+
+        @Override
+        protected long upstreamDemand() {
+            if (outstanding != 0) {
+                return 0;
+            }
+            outstanding = PREFETCH;
+            return PREFETCH;
+        }
+
+        private void onTick() {
+            synchronized (this) {
+                if (isTerminated()) {
+                    return;
+                }
+                position += slide;
+                closeUpTo(position);
+                open.add(new OpenWindow<>(position, position + size, aggregator));
+            }
+            drain();
+        }
+
+        // Must be called while holding the lock. Empty windows are dropped, so results only come from requested items.
+        private void closeUpTo(long end) {
+            while (!open.isEmpty() && open.peek().end <= end) {
+                OpenWindow<T, R> window = open.poll();
+                if (window.count > 0) {
+                    ready(window.close());
+                }
+            }
+        }
+    }
+
+    private static final class OpenWindow<T, R> {
+
+        private final long start;
+        private final long end;
+        private final Aggregator.Accumulator<? super T, R> accumulator;
+        private long count;
+
+        @SuppressWarnings("unchecked")
+        private OpenWindow(long start, long end, Aggregator<? super T, R> aggregator) {
+            this.start = start;
+            this.end = end;
+            this.accumulator = (Aggregator.Accumulator<? super T, R>) aggregator.newAccumulator();
+        }
+
+        private void add(T item) {
+            accumulator.add(item);
+            count++;
+        }
+
+        private WindowResult<R> close() {
+            return new WindowResult<>(start, end, count, accumulator.result());
+        }
+    }
+}
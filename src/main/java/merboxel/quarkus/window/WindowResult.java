@@ -0,0 +1,44 @@
+package merboxel.quarkus.window;
+
+/**
+ * Aggregate of one window. {@link #start()} and {@link #end()} (exclusive) are item positions for count windows and
+ * nanoseconds since the subscription for time windows.
+ */
+public final class WindowResult<R> {
+
+    private final long start;
+    private final long end;
+    private final long count;
+    private final R value;
+
+    WindowResult(long start, long end, long count, R value) {
+        this.start = start;
+        this.end = end;
+        this.count = count;
+        this.value = value;
+    }
+
+    public long start() {
+        return start;
+    }
+
+    public long end() {
+        return end;
+    }
+
+    /**
+     * Items that fell into the window.
+     */
+    public long count() {
+        return count;
+    }
+
+    public R value() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return "WindowResult{start=" + start + ", end=" + end + ", count=" + count + ", value=" + value + "}";
+    }
+}
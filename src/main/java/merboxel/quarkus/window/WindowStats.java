@@ -0,0 +1,45 @@
+package merboxel.quarkus.window;
+
+/**
+ * Count, sum, min, max and mean of a window, see {@link Aggregators#stats}. Min and max are {@code NaN} for an empty
+ * window.
+ */
+public final class WindowStats {
+
+    private final long count;
+    private final double sum;
+    private final double min;
+    private final double max;
+
+    WindowStats(long count, double sum, double min, double max) {
+        this.count = count;
+        this.sum = sum;
+        this.min = min;
+        this.max = max;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public double sum() {
+        return sum;
+    }
+
+    public double min() {
+        return min;
+    }
+
+    public double max() {
+        return max;
+    }
+
+    public double mean() {
+        return count == 0 ? Double.NaN : sum / count;
+    }
+
+    @Override
+    public String toString() {
+        return "WindowStats{count=" + count + ", sum=" + sum + ", min=" + min + ", max=" + max + "}";
+    }
+}
@@ -0,0 +1,68 @@
+package merboxel.quarkus.window;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.helpers.ParameterValidation;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Function;
+
+/**
+ * Tumbling and sliding windows, by item count or by time, aggregated incrementally by an {@link Aggregator}, to be
+ * used with {@code Multi.plug(...)}.
+ * <p>
+ * Unlike {@code collect().asList()} or {@code group().intoLists()}, items are never buffered: each open window only
+ * keeps its accumulator, and results are emitted as windows close instead of at completion. A sliding window's size
+ * must be a multiple of its slide.
+ */
+public class Windows<T, R> implements Function<Multi<T>, Multi<WindowResult<R>>> {
+
+    private final long size;
+    private final long slide;
+    private final boolean timed;
+    private final Aggregator<? super T, R> aggregator;
+    private final ScheduledExecutorService executor;
+
+    private Windows(long size, long slide, boolean timed, Aggregator<? super T, R> aggregator,
+                    ScheduledExecutorService executor) {
+        this.size = ParameterValidation.positive(size, "size");
+        this.slide = ParameterValidation.positive(slide, "slide");
+        if (size % slide != 0) {
+            throw new IllegalArgumentException("`size` must be a multiple of `slide`");
+        }
+        this.timed = timed;
+        this.aggregator = ParameterValidation.nonNull(aggregator, "aggregator");
+        this.executor = ParameterValidation.nonNull(executor, "executor");
+    }
+
+    public static <T, R> Windows<T, R> tumbling(int size, Aggregator<? super T, R> aggregator) {
+        return sliding(size, size, aggregator);
+    }
+
+    public static <T, R> Windows<T, R> sliding(int size, int slide, Aggregator<? super T, R> aggregator) {
+        return new Windows<>(size, slide, false, aggregator, Infrastructure.getDefaultWorkerPool());
+    }
+
+    public static <T, R> Windows<T, R> tumbling(Duration size, Aggregator<? super T, R> aggregator) {
+        return sliding(size, size, aggregator);
+    }
+
+    public static <T, R> Windows<T, R> sliding(Duration size, Duration slide, Aggregator<? super T, R> aggregator) {
+        ParameterValidation.validate(size, "size");
+        ParameterValidation.validate(slide, "slide");
+        return new Windows<>(size.toNanos(), slide.toNanos(), true, aggregator, Infrastructure.getDefaultWorkerPool());
+    }
+
+    /**
+     * Executor ticking the time windows, ignored for count windows.
+     */
+    public Windows<T, R> withExecutor(ScheduledExecutorService executor) {
+        return new Windows<>(size, slide, timed, aggregator, executor);
+    }
+
+    @Override
+    public Multi<WindowResult<R>> apply(Multi<T> upstream) {
+        return new MultiWindowOp<>(upstream, size, slide, aggregator, timed ? executor : null);
+    }
+}
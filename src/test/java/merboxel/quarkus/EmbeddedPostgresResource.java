@@ -0,0 +1,69 @@
+package merboxel.quarkus;
+
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.common.QuarkusTestResourceLifecycleManager;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+/**
+ * Starts a PostgreSQL server in-process from the binaries bundled with embedded-postgres, so the PgPool examples
+ * run without Docker or network access. The schema and seed data live in {@code src/test/resources/db}.
+ */
+@QuarkusTestResource(EmbeddedPostgresResource.class)
+public class EmbeddedPostgresResource implements QuarkusTestResourceLifecycleManager {
+
+    private final static String USERNAME = "postgres";
+    private final static String DATABASE = "postgres";
+
+    private EmbeddedPostgres postgres;
+
+    @Override
+    public Map<String, String> start() {
+        try {
+            postgres = EmbeddedPostgres.builder().start();
+            try (Connection connection = postgres.getPostgresDatabase().getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute(read("db/schema.sql"));
+                statement.execute(read("db/seed.sql"));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Unable to initialize the embedded PostgreSQL database", e);
+        }
+
+        return Map.of(
+                "quarkus.datasource.reactive.url", "postgresql://localhost:" + postgres.getPort() + "/" + DATABASE,
+                "quarkus.datasource.username", USERNAME,
+                "quarkus.datasource.password", USERNAME
+        );
+    }
+
+    @Override
+    public void stop() {
+        if (postgres != null) {
+            try {
+                postgres.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static String read(String resource) throws IOException {
+        try (InputStream stream = EmbeddedPostgresResource.class.getClassLoader().getResourceAsStream(resource)) {
+            if (stream == null) {
+                throw new IOException("Missing resource " + resource);
+            }
+            return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
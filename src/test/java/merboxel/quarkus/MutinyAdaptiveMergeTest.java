@@ -0,0 +1,114 @@
+package merboxel.quarkus;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.test.AssertSubscriber;
+import merboxel.quarkus.concurrency.AdaptiveLimiter;
+import merboxel.quarkus.concurrency.AdaptiveMerge;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+public class MutinyAdaptiveMergeTest {
+
+    private final static List<Integer> MULTI_DEFAULT_TEST_VALUE = List.of(1,2,3,4);
+    private final static Multi<Integer> MULTI_DEFAULT_MUTINY = Multi.createFrom().iterable(MULTI_DEFAULT_TEST_VALUE);
+
+    @Test
+    public void multi_transformToUni_adaptive_merge() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(2, 1, 8);
+
+        AssertSubscriber<Integer> subscriber = MULTI_DEFAULT_MUTINY
+                .plug(AdaptiveMerge.transformToUni(limiter, (i) -> Uni.createFrom().item(i)))
+                .subscribe().withSubscriber(AssertSubscriber.create());
+
+        subscriber.awaitNextItems(MULTI_DEFAULT_TEST_VALUE.size()).assertItems(
+                new Integer[]{1,2,3,4}
+        ).assertCompleted();
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    public void multi_transformToMulti_adaptive_merge() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(2, 1, 8);
+
+        AssertSubscriber<Integer> subscriber = MULTI_DEFAULT_MUTINY
+                .plug(AdaptiveMerge.transformToMulti(limiter, (i) -> Multi.createFrom().items(i,i+4)))
+                .subscribe().withSubscriber(AssertSubscriber.create());
+
+        subscriber.awaitNextItems(MULTI_DEFAULT_TEST_VALUE.size()*2).assertItems(
+                new Integer[]{1,2,3,4,5,6,7,8}
+        ).assertCompleted();
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    public void multi_transformToUni_adaptive_merge_failure() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(8, 1, 8);
+
+        AssertSubscriber<Integer> subscriber = MULTI_DEFAULT_MUTINY
+                .plug(AdaptiveMerge.transformToUni(limiter, (i) -> i == 3
+                        ? Uni.createFrom().failure(new RuntimeException("inner failure"))
+                        : Uni.createFrom().item(i)))
+                .subscribe().withSubscriber(AssertSubscriber.create(Long.MAX_VALUE));
+
+        subscriber.awaitFailure().assertItems(1, 2).assertFailedWith(RuntimeException.class, "inner failure");
+        assertEquals(4, limiter.limit());
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    public void multi_transformToUni_adaptive_merge_bounded() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(4, 1, 16);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        AssertSubscriber<Integer> subscriber = Multi.createFrom().range(0, 200)
+                .plug(AdaptiveMerge.transformToUni(limiter, (i) -> Uni.createFrom().item(i)
+                        .onSubscription().invoke(() -> maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max))
+                        .onItem().delayIt().by(Duration.ofMillis(5))
+                        .onTermination().invoke(inFlight::decrementAndGet)))
+                .subscribe().withSubscriber(AssertSubscriber.create(Long.MAX_VALUE));
+
+        subscriber.awaitCompletion(Duration.ofSeconds(10));
+        assertEquals(200, subscriber.getItems().size());
+        assertTrue(maxInFlight.get() <= limiter.maxLimit());
+        assertTrue(limiter.limit() > 4, "flat latency should grow the limit, was " + limiter.limit());
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    public void multi_transformToUni_adaptive_merge_backoff_on_latency() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(8, 1, 8);
+        AtomicInteger calls = new AtomicInteger();
+
+        AssertSubscriber<Integer> subscriber = Multi.createFrom().range(0, 40)
+                .plug(AdaptiveMerge.transformToUni(limiter, (i) -> Uni.createFrom().item(i)
+                        .onItem().delayIt().by(Duration.ofMillis(calls.incrementAndGet() <= 8 ? 2 : 50))))
+                .subscribe().withSubscriber(AssertSubscriber.create(Long.MAX_VALUE));
+
+        subscriber.awaitCompletion(Duration.ofSeconds(10));
+        assertTrue(limiter.limit() < 8, "rising latency should lower the limit, was " + limiter.limit());
+    }
+
+    @Test
+    public void multi_transformToUni_adaptive_merge_cancellation() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(2, 1, 4);
+
+        AssertSubscriber<Integer> subscriber = Multi.createFrom().range(0, 100)
+                .plug(AdaptiveMerge.transformToUni(limiter, (i) -> Uni.createFrom().item(i)
+                        .onItem().delayIt().by(Duration.ofMillis(50))))
+                .subscribe().withSubscriber(AssertSubscriber.create(Long.MAX_VALUE));
+
+        subscriber.cancel();
+        assertEquals(0, limiter.inFlight());
+        assertEquals(2, limiter.limit());
+    }
+}
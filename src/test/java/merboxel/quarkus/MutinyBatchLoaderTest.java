@@ -0,0 +1,164 @@
+package merboxel.quarkus;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.test.AssertSubscriber;
+import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
+import merboxel.quarkus.batch.BatchLoader;
+import merboxel.quarkus.time.VirtualTimeScheduler;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link BatchLoader} in front of a counting backend, comparing its round-trips with one lookup per item.
+ */
+@QuarkusTest
+public class MutinyBatchLoaderTest {
+
+    private final static List<Integer> MULTI_DEFAULT_TEST_VALUE = List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+    private final static Multi<Integer> MULTI_DEFAULT_MUTINY = Multi.createFrom().iterable(MULTI_DEFAULT_TEST_VALUE);
+    private final static Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+    private final AtomicInteger roundTrips = new AtomicInteger();
+    private final List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+
+    @Test
+    void uni_load_one_round_trip_per_window() {
+        BatchLoader<Integer, Integer> loader = BatchLoader.of(100, Duration.ofMillis(5), countingBackend())
+                .withExecutor(scheduler);
+
+        List<UniAssertSubscriber<Integer>> subscribers = MULTI_DEFAULT_TEST_VALUE.stream()
+                .map((i) -> loader.load(i).subscribe().withSubscriber(UniAssertSubscriber.<Integer>create()))
+                .toList();
+
+        subscribers.forEach(UniAssertSubscriber::assertNotTerminated);
+        scheduler.advanceBy(Duration.ofMillis(4));
+        assertEquals(0, roundTrips.get());
+        scheduler.advanceBy(Duration.ofMillis(1));
+        assertEquals(1, roundTrips.get());
+        for (int i = 0; i < subscribers.size(); i++) {
+            subscribers.get(i).assertItem(MULTI_DEFAULT_TEST_VALUE.get(i) * 10);
+        }
+    }
+
+    @Test
+    void uni_load_max_batch_size() {
+        BatchLoader<Integer, Integer> loader = BatchLoader.of(4, Duration.ofMillis(5), countingBackend())
+                .withExecutor(scheduler);
+
+        List<UniAssertSubscriber<Integer>> subscribers = MULTI_DEFAULT_TEST_VALUE.stream()
+                .map((i) -> loader.load(i).subscribe().withSubscriber(UniAssertSubscriber.<Integer>create()))
+                .toList();
+
+        // two full batches leave at once, the last two keys wait for the window
+        assertEquals(List.of(List.of(1, 2, 3, 4), List.of(5, 6, 7, 8)), batches);
+        subscribers.get(7).assertItem(80);
+        subscribers.get(9).assertNotTerminated();
+        scheduler.advanceBy(Duration.ofMillis(5));
+        assertEquals(List.of(9, 10), batches.get(2));
+        subscribers.get(9).assertItem(100);
+    }
+
+    @Test
+    void uni_load_deduplicated_keys() {
+        BatchLoader<Integer, Integer> loader = BatchLoader.of(100, Duration.ZERO, countingBackend())
+                .withExecutor(scheduler);
+
+        List<UniAssertSubscriber<Integer>> subscribers = List.of(1, 2, 1, 1, 2).stream()
+                .map((i) -> loader.load(i).subscribe().withSubscriber(UniAssertSubscriber.<Integer>create()))
+                .toList();
+
+        scheduler.advanceBy(Duration.ZERO);
+        assertEquals(List.of(List.of(1, 2)), batches);
+        assertEquals(List.of(10, 20, 10, 10, 20), subscribers.stream().map(UniAssertSubscriber::getItem).toList());
+    }
+
+    @Test
+    void uni_load_cancelled_key_withdrawn() {
+        BatchLoader<Integer, Integer> loader = BatchLoader.of(100, Duration.ofMillis(5), countingBackend())
+                .withExecutor(scheduler);
+
+        UniAssertSubscriber<Integer> cancelled = loader.load(1).subscribe().withSubscriber(UniAssertSubscriber.create());
+        UniAssertSubscriber<Integer> kept = loader.load(2).subscribe().withSubscriber(UniAssertSubscriber.create());
+        cancelled.cancel();
+        scheduler.advanceBy(Duration.ofMillis(5));
+
+        assertEquals(List.of(List.of(2)), batches);
+        kept.assertItem(20);
+        cancelled.assertNotTerminated();
+    }
+
+    @Test
+    void uni_load_missing_key_and_failure() {
+        BatchLoader<Integer, Integer> loader = BatchLoader.<Integer, Integer>of(100, Duration.ZERO,
+                        (keys) -> keys.contains(0)
+                                ? Uni.createFrom().failure(new RuntimeException("backend failure"))
+                                : Uni.createFrom().item(Map.of(1, 10)))
+                .withExecutor(scheduler);
+
+        UniAssertSubscriber<Integer> found = loader.load(1).subscribe().withSubscriber(UniAssertSubscriber.create());
+        UniAssertSubscriber<Integer> missing = loader.load(2).subscribe().withSubscriber(UniAssertSubscriber.create());
+        scheduler.advanceBy(Duration.ZERO);
+        found.assertItem(10);
+        missing.assertItem(null);
+
+        UniAssertSubscriber<Integer> failed = loader.load(0).subscribe().withSubscriber(UniAssertSubscriber.create());
+        UniAssertSubscriber<Integer> sameBatch = loader.load(1).subscribe().withSubscriber(UniAssertSubscriber.create());
+        scheduler.advanceBy(Duration.ZERO);
+        failed.assertFailedWith(RuntimeException.class, "backend failure");
+        sameBatch.assertFailedWith(RuntimeException.class, "backend failure");
+    }
+
+    @Test
+    void multi_transformToUni_merge_round_trips() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        BatchLoader<Integer, Integer> loader = BatchLoader.of(16, Duration.ofMillis(2), countingBackend())
+                .withMetrics(registry, "items");
+        Multi<Integer> keys = Multi.createFrom().range(0, 1_000).map((i) -> i % 100);
+
+        List<Integer> perItem = keys.onItem().transformToUni((i) -> countingBackend().apply(List.of(i))
+                        .map((values) -> values.get(i)))
+                .merge(64)
+                .subscribe().withSubscriber(AssertSubscriber.create(Long.MAX_VALUE))
+                .awaitCompletion(TIMEOUT).getItems();
+        int perItemRoundTrips = roundTrips.getAndSet(0);
+
+        List<Integer> batched = keys.onItem().transformToUni(loader::load)
+                .merge(64)
+                .subscribe().withSubscriber(AssertSubscriber.create(Long.MAX_VALUE))
+                .awaitCompletion(TIMEOUT).getItems();
+
+        System.out.printf("1000 lookups: %d round-trips per item, %d batched%n", perItemRoundTrips, roundTrips.get());
+        assertEquals(1_000, perItemRoundTrips);
+        assertEquals(perItem.stream().sorted().toList(), batched.stream().sorted().toList());
+        assertTrue(roundTrips.get() <= 1_000 / 16 * 2, "round-trips " + roundTrips.get());
+
+        DistributionSummary sizes = registry.get("mutiny.batch.loader.size").tag("loader", "items").summary();
+        assertEquals(roundTrips.get(), sizes.count());
+        assertEquals(16.0, sizes.max());
+        assertEquals(1_000.0, registry.get("mutiny.batch.loader.loads").tag("loader", "items").counter().count());
+    }
+
+    private Function<List<Integer>, Uni<Map<Integer, Integer>>> countingBackend() {
+        return (keys) -> Uni.createFrom().item(() -> {
+            roundTrips.incrementAndGet();
+            batches.add(keys);
+            return keys.stream().distinct().collect(Collectors.toMap(Function.identity(), (k) -> k * 10));
+        });
+    }
+}
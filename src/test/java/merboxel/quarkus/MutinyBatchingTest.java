@@ -0,0 +1,103 @@
+package merboxel.quarkus;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.test.AssertSubscriber;
+import merboxel.quarkus.batch.MultiBatchOp;
+import merboxel.quarkus.batch.StreamingBatcher;
+import merboxel.quarkus.time.VirtualTimeScheduler;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+public class MutinyBatchingTest {
+
+    private final static List<Integer> MULTI_DEFAULT_TEST_VALUE = List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+    private final static Multi<Integer> MULTI_DEFAULT_MUTINY = Multi.createFrom().iterable(MULTI_DEFAULT_TEST_VALUE);
+
+    @Test
+    public void multi_batch_by_size() {
+        AtomicInteger roundTrips = new AtomicInteger();
+
+        AssertSubscriber<Integer> subscriber = MULTI_DEFAULT_MUTINY
+                .plug(StreamingBatcher.of(4, Duration.ofSeconds(10), countingBackend(roundTrips)))
+                .subscribe().withSubscriber(AssertSubscriber.create(Long.MAX_VALUE));
+
+        subscriber.awaitCompletion().assertItems(
+                new Integer[]{10, 20, 30, 40, 50, 60, 70, 80, 90, 100}
+        );
+        assertEquals(3, roundTrips.get());
+    }
+
+    @Test
+    public void multi_batch_by_time() {
+        AtomicInteger roundTrips = new AtomicInteger();
+        VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+
+        AssertSubscriber<Long> subscriber = Multi.createFrom().ticks().onExecutor(scheduler).every(Duration.ofMillis(100))
+                .select().first(3)
+                .plug(StreamingBatcher.<Long, Long>of(100, Duration.ofMillis(10), (keys) -> {
+                    roundTrips.incrementAndGet();
+                    return Multi.createFrom().iterable(keys);
+                }).withExecutor(scheduler))
+                .subscribe().withSubscriber(AssertSubscriber.create(Long.MAX_VALUE));
+
+        scheduler.advanceBy(Duration.ofMillis(310));
+        subscriber.assertCompleted().assertItems(0L, 1L, 2L);
+        assertEquals(3, roundTrips.get());
+    }
+
+    @Test
+    public void multi_batch_bounded_in_flight() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        AssertSubscriber<Integer> subscriber = Multi.createFrom().range(0, 40)
+                .plug(StreamingBatcher.<Integer, Integer>of(4, Duration.ofSeconds(10), (keys) ->
+                        Uni.createFrom().item(keys)
+                                .onItem().delayIt().by(Duration.ofMillis(20))
+                                .onItem().transformToMulti((list) -> Multi.createFrom().iterable(list))
+                                .onSubscription().invoke(() -> maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max))
+                                .onTermination().invoke(inFlight::decrementAndGet)
+                ).withConcurrency(2))
+                .subscribe().withSubscriber(AssertSubscriber.create(Long.MAX_VALUE));
+
+        subscriber.awaitCompletion(Duration.ofSeconds(5));
+        assertEquals(40, subscriber.getItems().size());
+        assertTrue(maxInFlight.get() <= 2);
+    }
+
+    @Test
+    public void multi_batch_respects_demand() {
+        AtomicLong requestedFromUpstream = new AtomicLong();
+
+        AssertSubscriber<List<Integer>> subscriber = new MultiBatchOp<>(
+                Multi.createFrom().range(0, 100).onRequest().invoke(requestedFromUpstream::addAndGet),
+                // virtual time never moves, so only the size closes a window
+                4, Duration.ofMillis(5), new VirtualTimeScheduler()
+        ).subscribe().withSubscriber(AssertSubscriber.create(0));
+
+        subscriber.assertHasNotReceivedAnyItem().assertNotTerminated();
+        assertEquals(0, requestedFromUpstream.get());
+
+        subscriber.request(2);
+        subscriber.awaitItems(2).assertItems(List.of(0, 1, 2, 3), List.of(4, 5, 6, 7)).assertNotTerminated();
+        assertTrue(requestedFromUpstream.get() <= 12);
+    }
+
+    private Function<List<Integer>, Multi<Integer>> countingBackend(AtomicInteger roundTrips) {
+        return (keys) -> {
+            roundTrips.incrementAndGet();
+            return Multi.createFrom().iterable(keys).onItem().transform((i) -> i * 10);
+        };
+    }
+}
@@ -0,0 +1,264 @@
+package merboxel.quarkus;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.helpers.test.AssertSubscriber;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import io.smallrye.mutiny.subscription.BackPressureFailure;
+import merboxel.quarkus.emitter.BoundedEmitter;
+import merboxel.quarkus.emitter.BoundedEmitters;
+import merboxel.quarkus.emitter.OverflowStrategy;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link BoundedEmitters} behind a deliberately slow {@code AssertSubscriber.create(n)}: unlike
+ * {@code multi_create_endless_via_emitter}, the items the subscriber did not ask for never exceed the capacity.
+ */
+@QuarkusTest
+public class MutinyBoundedEmitterTest {
+
+    private final static int CAPACITY = 4;
+    private final static List<Integer> MULTI_DEFAULT_TEST_VALUE = IntStream.rangeClosed(1, 10).boxed().toList();
+    private final static Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Test
+    void multi_bounded_emitter_drop_newest() {
+        AtomicReference<BoundedEmitter<Integer>> emitter = new AtomicReference<>();
+        AssertSubscriber<Integer> subscriber = BoundedEmitters.<Integer>create(CAPACITY, OverflowStrategy.DROP_NEWEST, (em) -> {
+                    emitter.set(em);
+                    MULTI_DEFAULT_TEST_VALUE.forEach(em::emit);
+                    em.complete();
+                })
+                .subscribe().withSubscriber(AssertSubscriber.create(2));
+
+        subscriber.assertItems(1, 2).assertNotTerminated();
+        assertEquals(CAPACITY, emitter.get().occupancy());
+        assertEquals(4L, emitter.get().dropped());
+
+        subscriber.request(Long.MAX_VALUE)
+                .assertCompleted()
+                .assertItems(1, 2, 3, 4, 5, 6);
+        assertEquals(0, emitter.get().occupancy());
+    }
+
+    @Test
+    void multi_bounded_emitter_drop_oldest() {
+        AtomicReference<BoundedEmitter<Integer>> emitter = new AtomicReference<>();
+        AssertSubscriber<Integer> subscriber = BoundedEmitters.<Integer>create(CAPACITY, OverflowStrategy.DROP_OLDEST, (em) -> {
+                    emitter.set(em);
+                    MULTI_DEFAULT_TEST_VALUE.forEach(em::emit);
+                    em.complete();
+                })
+                .subscribe().withSubscriber(AssertSubscriber.create(2));
+
+        subscriber.assertItems(1, 2).assertNotTerminated();
+        assertEquals(4L, emitter.get().dropped());
+
+        subscriber.request(Long.MAX_VALUE)
+                .assertCompleted()
+                .assertItems(1, 2, 7, 8, 9, 10);
+    }
+
+    @Test
+    void multi_bounded_emitter_fail() {
+        AssertSubscriber<Integer> subscriber = BoundedEmitters.<Integer>create(CAPACITY, OverflowStrategy.FAIL, (em) -> {
+                    MULTI_DEFAULT_TEST_VALUE.forEach(em::emit);
+                    em.complete();
+                })
+                .subscribe().withSubscriber(AssertSubscriber.create(2));
+
+        subscriber.assertItems(1, 2)
+                .assertFailedWith(BackPressureFailure.class, "buffer is full");
+    }
+
+    @Test
+    void multi_bounded_emitter_failure_after_buffered_items() {
+        AssertSubscriber<Integer> subscriber = BoundedEmitters.<Integer>create(CAPACITY, OverflowStrategy.FAIL, (em) -> {
+                    em.emit(1);
+                    em.emit(2);
+                    em.emit(3);
+                    em.fail(new RuntimeException("emmitter failure"));
+                })
+                .subscribe().withSubscriber(AssertSubscriber.create(1));
+
+        subscriber.assertItems(1).assertNotTerminated();
+        subscriber.request(2)
+                .assertItems(1, 2, 3)
+                .assertFailedWith(RuntimeException.class, "emmitter failure");
+    }
+
+    @Test
+    void multi_bounded_emitter_block() throws InterruptedException {
+        int items = 100;
+        AtomicInteger maxOccupancy = new AtomicInteger();
+        AtomicReference<BoundedEmitter<Integer>> emitter = new AtomicReference<>();
+        CountDownLatch produced = new CountDownLatch(1);
+
+        AssertSubscriber<Integer> subscriber = BoundedEmitters.<Integer>create(CAPACITY, OverflowStrategy.BLOCK, (em) -> {
+                    emitter.set(em);
+                    Thread.ofVirtual().start(() -> {
+                        for (int i = 0; i < items; i++) {
+                            em.emit(i);
+                            maxOccupancy.accumulateAndGet(em.occupancy(), Math::max);
+                        }
+                        em.complete();
+                        produced.countDown();
+                    });
+                })
+                .subscribe().withSubscriber(AssertSubscriber.create(1));
+
+        for (int i = 1; i <= items; i++) {
+            subscriber.awaitItems(i, TIMEOUT);
+            Thread.sleep(1);
+            subscriber.request(1);
+        }
+        subscriber.awaitCompletion(TIMEOUT);
+
+        assertTrue(produced.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+        assertEquals(IntStream.range(0, items).boxed().toList(), subscriber.getItems());
+        assertTrue(maxOccupancy.get() <= CAPACITY, "occupancy " + maxOccupancy.get());
+        assertEquals(0L, emitter.get().dropped());
+    }
+
+    @Test
+    void multi_bounded_emitter_block_released_on_cancel() throws InterruptedException {
+        CountDownLatch released = new CountDownLatch(1);
+        AtomicInteger rejected = new AtomicInteger();
+
+        AssertSubscriber<Integer> subscriber = BoundedEmitters.<Integer>create(CAPACITY, OverflowStrategy.BLOCK, (em) ->
+                    Thread.ofVirtual().start(() -> {
+                        for (Integer i : MULTI_DEFAULT_TEST_VALUE) {
+                            if (!em.emit(i)) {
+                                rejected.incrementAndGet();
+                            }
+                        }
+                        released.countDown();
+                    }))
+                .subscribe().withSubscriber(AssertSubscriber.create(0));
+
+        // the producer parks on the fifth item
+        Thread.sleep(100);
+        assertEquals(1L, released.getCount());
+        subscriber.cancel();
+
+        assertTrue(released.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+        assertEquals(MULTI_DEFAULT_TEST_VALUE.size() - CAPACITY, rejected.get());
+        subscriber.assertHasNotReceivedAnyItem();
+    }
+
+    @Test
+    void multi_bounded_emitter_block_refuses_non_blocking_thread() {
+        Infrastructure.setCanCallerThreadBeBlockedSupplier(() -> false);
+        try {
+            BoundedEmitters.<Integer>create(CAPACITY, OverflowStrategy.BLOCK, (em) -> em.emit(1))
+                    .subscribe().withSubscriber(AssertSubscriber.create(1))
+                    .assertFailedWith(IllegalStateException.class, "cannot be blocked");
+        } finally {
+            Infrastructure.setCanCallerThreadBeBlockedSupplier(() -> true);
+        }
+    }
+
+    @Test
+    void multi_bounded_emitter_concurrent_producers() throws InterruptedException {
+        int producers = 8;
+        int perProducer = 2_000;
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        CountDownLatch done = new CountDownLatch(producers);
+
+        AssertSubscriber<Integer> subscriber = BoundedEmitters.<Integer>create(64, OverflowStrategy.BLOCK, (em) -> {
+                    for (int p = 0; p < producers; p++) {
+                        int base = p * perProducer;
+                        executor.execute(() -> {
+                            for (int i = 0; i < perProducer; i++) {
+                                em.emit(base + i);
+                            }
+                            done.countDown();
+                        });
+                    }
+                    executor.execute(() -> {
+                        try {
+                            done.await();
+                            em.complete();
+                        } catch (InterruptedException e) {
+                            em.fail(e);
+                        }
+                    });
+                })
+                .subscribe().withSubscriber(AssertSubscriber.create(Long.MAX_VALUE));
+
+        subscriber.awaitCompletion(TIMEOUT);
+        executor.shutdown();
+
+        List<Integer> items = subscriber.getItems();
+        assertEquals(producers * perProducer, items.size());
+        assertEquals(producers * perProducer, new HashSet<>(items).size());
+        assertFalse(items.contains(null));
+    }
+
+    @RepeatedTest(50)
+    void multi_bounded_emitter_emit_races_complete() throws InterruptedException {
+        int producers = 8;
+        AtomicReference<BoundedEmitter<Integer>> emitter = new AtomicReference<>();
+        AssertSubscriber<Integer> subscriber = BoundedEmitters.<Integer>create(1024, OverflowStrategy.DROP_NEWEST, emitter::set)
+                .subscribe().withSubscriber(AssertSubscriber.create(Long.MAX_VALUE));
+        Set<Integer> accepted = ConcurrentHashMap.newKeySet();
+        CountDownLatch started = new CountDownLatch(producers);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+
+        for (int p = 0; p < producers; p++) {
+            int base = p * 1_000_000;
+            executor.execute(() -> {
+                started.countDown();
+                // keeps emitting until refused, at least 1000 times so some of them race the completion
+                for (int i = 0; !emitter.get().isCancelled(); i++) {
+                    if (emitter.get().emit(base + i)) {
+                        accepted.add(base + i);
+                    } else if (i >= 1_000) {
+                        break;
+                    }
+                }
+            });
+        }
+        started.await();
+        emitter.get().complete();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+
+        subscriber.awaitCompletion(TIMEOUT);
+        Set<Integer> received = new HashSet<>(subscriber.getItems());
+        // every accepted item got through, and whatever got through was either accepted or counted as dropped
+        assertTrue(received.containsAll(accepted));
+        assertTrue(received.size() <= accepted.size() + emitter.get().dropped());
+    }
+
+    @Test
+    void multi_bounded_emitter_invalid_request() {
+        AtomicReference<BoundedEmitter<Integer>> emitter = new AtomicReference<>();
+        AssertSubscriber<Integer> subscriber = BoundedEmitters.<Integer>create(CAPACITY, OverflowStrategy.DROP_NEWEST, emitter::set)
+                .subscribe().withSubscriber(AssertSubscriber.create(1));
+
+        emitter.get().emit(1);
+        emitter.get().emit(2);
+        subscriber.request(0);
+
+        subscriber.assertItems(1).assertFailedWith(IllegalArgumentException.class);
+        assertFalse(emitter.get().emit(3));
+    }
+}
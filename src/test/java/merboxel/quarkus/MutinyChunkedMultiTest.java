@@ -0,0 +1,92 @@
+package merboxel.quarkus;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.helpers.test.AssertSubscriber;
+import merboxel.quarkus.chunked.ChunkedMulti;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@QuarkusTest
+public class MutinyChunkedMultiTest {
+
+    private final static List<String> MULTI_DEFAULT_TEST_VALUE = List.of("test1", "test2", "test3", "test4");
+    private final static ChunkedMulti<String> CHUNKED_DEFAULT_MUTINY = ChunkedMulti.fromIterable(MULTI_DEFAULT_TEST_VALUE, 3);
+
+    @Test
+    public void chunked_transform_uppercase() {
+        AssertSubscriber<String> subscriber = CHUNKED_DEFAULT_MUTINY.onItem()
+                .transform(String::toUpperCase)
+                .toMulti()
+                .subscribe().withSubscriber(AssertSubscriber.create());
+
+        subscriber.awaitNextItems(MULTI_DEFAULT_TEST_VALUE.size()).assertItems(
+                MULTI_DEFAULT_TEST_VALUE.stream()
+                        .map(String::toUpperCase)
+                        .toArray(String[]::new)
+        ).assertCompleted();
+    }
+
+    @Test
+    public void chunked_transform_where_invoke() {
+        AtomicInteger invoked = new AtomicInteger();
+
+        List<Integer> items = ChunkedMulti.fromIterable(MULTI_DEFAULT_TEST_VALUE, 3)
+                .onItem().transform((str) -> Integer.parseInt(str.substring(4)))
+                .select().where((i) -> i % 2 == 0)
+                .onItem().invoke((i) -> invoked.incrementAndGet())
+                .collect().asList().await().atMost(Duration.ofSeconds(1));
+
+        assertEquals(List.of(2, 4), items);
+        assertEquals(2, invoked.get());
+    }
+
+    @Test
+    public void chunked_demand_in_chunks() {
+        AssertSubscriber<List<String>> subscriber = CHUNKED_DEFAULT_MUTINY.chunks()
+                .subscribe().withSubscriber(AssertSubscriber.create(1));
+
+        subscriber.assertItems(List.of("test1", "test2", "test3")).assertNotTerminated();
+        subscriber.request(1);
+        subscriber.assertItems(List.of("test1", "test2", "test3"), List.of("test4")).assertCompleted();
+    }
+
+    @Test
+    public void chunked_where_drops_empty_chunks() {
+        AssertSubscriber<List<Integer>> subscriber = ChunkedMulti.fromIterable(List.of(1,2,3,4,5,6,7), 2)
+                .select().where((i) -> i > 4)
+                .chunks()
+                .subscribe().withSubscriber(AssertSubscriber.create(Long.MAX_VALUE));
+
+        subscriber.assertItems(List.of(5, 6), List.of(7)).assertCompleted();
+    }
+
+    @Test
+    public void chunked_same_as_multi() {
+        Multi<Integer> multi = Multi.createFrom().range(0, 1000);
+
+        assertEquals(
+                multi.onItem().transform((i) -> i * 3).select().where((i) -> i % 2 == 0)
+                        .collect().with(Collectors.summingLong(Integer::longValue)).await().atMost(Duration.ofSeconds(1)),
+                ChunkedMulti.from(multi, 64)
+                        .onItem().transform((i) -> i * 3).select().where((i) -> i % 2 == 0)
+                        .collect().with(Collectors.summingLong(Integer::longValue)).await().atMost(Duration.ofSeconds(1))
+        );
+    }
+
+    @Test
+    public void chunked_transform_null_fails() {
+        AssertSubscriber<String> subscriber = CHUNKED_DEFAULT_MUTINY.onItem()
+                .transform((str) -> (String) null)
+                .toMulti()
+                .subscribe().withSubscriber(AssertSubscriber.create(Long.MAX_VALUE));
+
+        subscriber.assertFailedWith(NullPointerException.class);
+    }
+}
@@ -3,6 +3,8 @@ package merboxel.quarkus;
 import io.quarkus.test.junit.QuarkusTest;
 import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.test.AssertSubscriber;
+import merboxel.quarkus.time.VirtualTimeScheduler;
 import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
@@ -76,7 +78,13 @@ public class MutinyCreationsTest {
 
     @Test
     void multi_create_endless_via_ticks() {
-        Multi.createFrom().ticks().every(Duration.ofSeconds(1));
+        VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+        AssertSubscriber<Long> subscriber = Multi.createFrom().ticks().onExecutor(scheduler).every(Duration.ofSeconds(1))
+                .subscribe().withSubscriber(AssertSubscriber.create(Long.MAX_VALUE));
+
+        scheduler.advanceBy(Duration.ofHours(1));
+        assertEquals(3_601, subscriber.getItems().size());
+        subscriber.cancel();
     }
 
     @Test
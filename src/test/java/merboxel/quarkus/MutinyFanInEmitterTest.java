@@ -0,0 +1,151 @@
+package merboxel.quarkus;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.helpers.test.AssertSubscriber;
+import merboxel.quarkus.emitter.FanInEmitter;
+import merboxel.quarkus.emitter.FanInEmitters;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * {@link FanInEmitters} with many platform threads emitting at once, checking that no item is lost or duplicated,
+ * that each producer's items keep their order and that the subscriber is never signalled concurrently.
+ */
+@QuarkusTest
+public class MutinyFanInEmitterTest {
+
+    private final static int PRODUCERS = 16;
+    private final static int ITEMS_PER_PRODUCER = 2_000;
+    private final static Duration TIMEOUT = Duration.ofSeconds(30);
+
+    @Test
+    void multi_fan_in_single_producer() {
+        FanInEmitters.<Integer>create(4, (em) -> {
+                    List.of(1, 2, 3, 4).forEach(em::emit);
+                    em.complete();
+                })
+                .subscribe().withSubscriber(AssertSubscriber.create(2))
+                .assertItems(1, 2)
+                .assertNotTerminated()
+                .request(2)
+                .assertItems(1, 2, 3, 4)
+                .assertCompleted();
+    }
+
+    @Test
+    void multi_fan_in_failure_after_buffered_items() {
+        FanInEmitters.<Integer>create((em) -> {
+                    em.emit(1);
+                    em.emit(2);
+                    em.fail(new RuntimeException("emmitter failure"));
+                })
+                .subscribe().withSubscriber(AssertSubscriber.create(1))
+                .assertItems(1)
+                .assertNotTerminated()
+                .request(1)
+                .assertFailedWith(RuntimeException.class, "emmitter failure");
+    }
+
+    @Test
+    void multi_fan_in_cancel() {
+        AtomicReference<FanInEmitter<Integer>> emitter = new AtomicReference<>();
+        AssertSubscriber<Integer> subscriber = FanInEmitters.<Integer>create(emitter::set)
+                .subscribe().withSubscriber(AssertSubscriber.create(1));
+
+        emitter.get().emit(1);
+        subscriber.cancel();
+        assertFalse(emitter.get().emit(2));
+        subscriber.assertItems(1).assertNotTerminated();
+    }
+
+    @Test
+    void multi_fan_in_invalid_request() {
+        AtomicReference<FanInEmitter<Integer>> emitter = new AtomicReference<>();
+        AssertSubscriber<Integer> subscriber = FanInEmitters.<Integer>create(emitter::set)
+                .subscribe().withSubscriber(AssertSubscriber.create(1));
+
+        emitter.get().emit(1);
+        emitter.get().emit(2);
+        subscriber.request(-1);
+
+        subscriber.assertItems(1).assertFailedWith(IllegalArgumentException.class);
+        assertFalse(emitter.get().emit(3));
+    }
+
+    @RepeatedTest(3)
+    void multi_fan_in_concurrent_producers() {
+        AtomicInteger inOnItem = new AtomicInteger();
+        AtomicInteger overlaps = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(PRODUCERS);
+        CyclicBarrier start = new CyclicBarrier(PRODUCERS);
+        CountDownLatch finished = new CountDownLatch(PRODUCERS);
+
+        AssertSubscriber<long[]> subscriber = FanInEmitters.<long[]>create(4, (em) -> {
+                    for (int p = 0; p < PRODUCERS; p++) {
+                        long producer = p;
+                        executor.execute(() -> {
+                            try {
+                                start.await();
+                                for (long i = 0; i < ITEMS_PER_PRODUCER; i++) {
+                                    em.emit(new long[]{producer, i});
+                                }
+                            } catch (Exception e) {
+                                em.fail(e);
+                            }
+                            finished.countDown();
+                        });
+                    }
+                    executor.execute(() -> {
+                        try {
+                            finished.await();
+                            em.complete();
+                        } catch (InterruptedException e) {
+                            em.fail(e);
+                        }
+                    });
+                })
+                .onItem().invoke(() -> {
+                    if (inOnItem.incrementAndGet() != 1) {
+                        overlaps.incrementAndGet();
+                    }
+                    inOnItem.decrementAndGet();
+                })
+                .subscribe().withSubscriber(AssertSubscriber.create(0));
+
+        // a slow subscriber requesting from yet another thread, racing with the producers' drain loops
+        while (!subscriber.isCancelled() && !isTerminated(subscriber)) {
+            subscriber.request(1_000);
+            Thread.yield();
+        }
+        subscriber.awaitCompletion(TIMEOUT);
+        executor.shutdown();
+
+        assertEquals(0, overlaps.get());
+        assertEquals(PRODUCERS * ITEMS_PER_PRODUCER, subscriber.getItems().size());
+        long[] next = new long[PRODUCERS];
+        for (long[] item : subscriber.getItems()) {
+            assertEquals(next[(int) item[0]]++, item[1]);
+        }
+        long[] expected = new long[PRODUCERS];
+        Arrays.fill(expected, ITEMS_PER_PRODUCER);
+        assertArrayEquals(expected, next);
+    }
+
+    private static boolean isTerminated(AssertSubscriber<?> subscriber) {
+        return subscriber.hasCompleted() || subscriber.getFailure() != null;
+    }
+}
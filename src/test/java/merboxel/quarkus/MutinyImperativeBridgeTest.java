@@ -0,0 +1,149 @@
+package merboxel.quarkus;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.TimeoutException;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Vertx;
+import jakarta.inject.Inject;
+import merboxel.quarkus.concurrency.ImperativeBridge;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The waits of {@link MutinyReactive2ImperativeTest} through {@link ImperativeBridge}, which refuses to block the
+ * event loop and parks virtual threads instead of their carriers.
+ */
+@QuarkusTest
+public class MutinyImperativeBridgeTest {
+
+    private final static String UNI_DEFAULT_TEST_VALUE = "test";
+    private final static Uni<String> UNI_DEFAULT_MUTINY = Uni.createFrom().item(UNI_DEFAULT_TEST_VALUE);
+    private final static List<String> MULTI_DEFAULT_TEST_VALUE = List.of("test1", "test2", "test3", "test4");
+    private final static Multi<String> MULTI_DEFAULT_MUTINY = Multi.createFrom().iterable(MULTI_DEFAULT_TEST_VALUE);
+    private final static int PREFETCH = 16;
+    private final static int CONCURRENT_AWAITS = 10_000;
+
+    @Inject
+    Vertx vertx;
+
+    @Test
+    void uni_bridge_await() {
+        assertEquals(UNI_DEFAULT_TEST_VALUE, ImperativeBridge.await(UNI_DEFAULT_MUTINY));
+        assertEquals(UNI_DEFAULT_TEST_VALUE, ImperativeBridge.await(
+                UNI_DEFAULT_MUTINY.onItem().delayIt().by(Duration.ofMillis(10)), Duration.ofSeconds(1)));
+    }
+
+    @Test
+    void uni_bridge_await_failure() {
+        RuntimeException failure = assertThrows(RuntimeException.class, () -> ImperativeBridge.await(
+                Uni.createFrom().failure(new RuntimeException("emmitter failure"))));
+        assertEquals("emmitter failure", failure.getMessage());
+    }
+
+    @Test
+    void uni_bridge_await_timeout_cancels() {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        assertThrows(TimeoutException.class, () -> ImperativeBridge.await(
+                Uni.createFrom().nothing().onCancellation().invoke(() -> cancelled.set(true)), Duration.ofMillis(10)));
+        assertTrue(cancelled.get());
+    }
+
+    @Test
+    void uni_bridge_refuses_event_loop() throws Exception {
+        CompletableFuture<Throwable> refused = new CompletableFuture<>();
+        vertx.runOnContext((ignored) -> {
+            try {
+                ImperativeBridge.await(UNI_DEFAULT_MUTINY);
+                refused.complete(null);
+            } catch (Throwable failure) {
+                refused.complete(failure);
+            }
+        });
+
+        Throwable failure = refused.get(10, TimeUnit.SECONDS);
+        assertInstanceOf(IllegalStateException.class, failure);
+        assertTrue(failure.getMessage().contains("cannot be blocked"));
+    }
+
+    @Test
+    void uni_bridge_concurrent_awaits_on_virtual_threads() throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_AWAITS; i++) {
+                results.add(executor.submit(() -> ImperativeBridge.await(
+                        UNI_DEFAULT_MUTINY.onItem().delayIt().by(Duration.ofMillis(10)))));
+            }
+            for (Future<String> result : results) {
+                assertEquals(UNI_DEFAULT_TEST_VALUE, result.get(30, TimeUnit.SECONDS));
+            }
+        }
+    }
+
+    @Test
+    void multi_bridge_iterable() {
+        List<String> items = new ArrayList<>();
+        ImperativeBridge.asIterable(MULTI_DEFAULT_MUTINY, 2).forEach(items::add);
+        assertEquals(MULTI_DEFAULT_TEST_VALUE, items);
+    }
+
+    @Test
+    void multi_bridge_stream_bounded_prefetch() {
+        AtomicLong requested = new AtomicLong();
+        AtomicLong emitted = new AtomicLong();
+        AtomicLong maxAhead = new AtomicLong();
+
+        Multi<Long> source = Multi.createFrom().<Long>emitter((em) -> {
+                    for (long i = 0; i < 1_000; i++) {
+                        em.emit(i);
+                    }
+                    em.complete();
+                })
+                .onRequest().invoke(requested::addAndGet)
+                .onItem().invoke(emitted::incrementAndGet);
+
+        try (Stream<Long> stream = ImperativeBridge.asStream(source, PREFETCH)) {
+            long count = stream.peek((i) -> maxAhead.accumulateAndGet(requested.get() - i - 1, Math::max)).count();
+            assertEquals(1_000L, count);
+        }
+        assertTrue(maxAhead.get() <= PREFETCH, "requested " + maxAhead.get() + " items ahead");
+        assertEquals(1_000L, emitted.get());
+    }
+
+    @Test
+    void multi_bridge_stream_close_cancels() {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Multi<Long> endless = Multi.createFrom().ticks().every(Duration.ofMillis(1))
+                .onCancellation().invoke(() -> cancelled.set(true));
+
+        try (Stream<Long> stream = ImperativeBridge.asStream(endless, PREFETCH)) {
+            assertEquals(List.of(0L, 1L, 2L), stream.limit(3).collect(Collectors.toList()));
+        }
+        assertTrue(cancelled.get());
+    }
+
+    @Test
+    void multi_bridge_stream_failure() {
+        Multi<String> failing = MULTI_DEFAULT_MUTINY.onCompletion().failWith(new RuntimeException("emmitter failure"));
+        try (Stream<String> stream = ImperativeBridge.asStream(failing)) {
+            assertThrows(RuntimeException.class, stream::count, "emmitter failure");
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package merboxel.quarkus;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.test.AssertSubscriber;
+import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
+import merboxel.quarkus.concurrency.AdaptiveLimiter;
+import merboxel.quarkus.observability.PipelineMetrics;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * The scenarios of {@link MutinyObservingEventsTest}, observed through {@link PipelineMetrics} instead of
+ * {@code System.out}.
+ */
+@QuarkusTest
+public class MutinyInstrumentationTest {
+
+    private final static String UNI_DEFAULT_TEST_VALUE = "test";
+    private final static Uni<String> UNI_DEFAULT_MUTINY = Uni.createFrom().item(UNI_DEFAULT_TEST_VALUE);
+    private final static List<String> MULTI_DEFAULT_TEST_VALUE = List.of("test1", "test2", "test3", "test4");
+    private final static Multi<String> MULTI_DEFAULT_MUTINY = Multi.createFrom().iterable(MULTI_DEFAULT_TEST_VALUE);
+    private final static String PIPELINE = "pipeline";
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final PipelineMetrics metrics = PipelineMetrics.of(registry);
+
+    @Test
+    void uni_instrumented_onSuccess() {
+        UniAssertSubscriber<String> subscriber = UNI_DEFAULT_MUTINY
+                .plug(metrics.uni(PIPELINE))
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        subscriber.assertCompleted();
+        assertEquals(1.0, counter("mutiny.pipeline.items"));
+        assertEquals(1.0, counter("mutiny.pipeline.completions"));
+        assertEquals(1L, registry.get("mutiny.pipeline.first.item").timer().count());
+    }
+
+    @Test
+    void uni_instrumented_onFailure() {
+        UniAssertSubscriber<Integer> subscriber = Uni.createFrom().<Integer>failure(new RuntimeException("emmitter failure"))
+                .plug(metrics.uni(PIPELINE))
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        subscriber.assertFailed();
+        assertEquals(0.0, counter("mutiny.pipeline.items"));
+        assertEquals(1.0, counter("mutiny.pipeline.failures"));
+    }
+
+    @Test
+    void uni_instrumented_onCancellation() {
+        UniAssertSubscriber<String> subscriber = Uni.createFrom().<String>nothing()
+                .plug(metrics.uni(PIPELINE))
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        assertEquals(1.0, gauge("mutiny.pipeline.subscriptions.active"));
+        subscriber.cancel();
+        assertEquals(1.0, counter("mutiny.pipeline.cancellations"));
+        assertEquals(0.0, gauge("mutiny.pipeline.subscriptions.active"));
+    }
+
+    @Test
+    void multi_instrumented_completion() {
+        AssertSubscriber<String> subscriber = MULTI_DEFAULT_MUTINY
+                .plug(metrics.multi(PIPELINE))
+                .subscribe().withSubscriber(AssertSubscriber.create());
+
+        subscriber.awaitNextItems(MULTI_DEFAULT_TEST_VALUE.size()).assertCompleted();
+        assertEquals(MULTI_DEFAULT_TEST_VALUE.size(), counter("mutiny.pipeline.items"));
+        assertEquals(MULTI_DEFAULT_TEST_VALUE.size(), counter("mutiny.pipeline.requested"));
+        assertEquals(1.0, counter("mutiny.pipeline.subscriptions"));
+        assertEquals(1.0, counter("mutiny.pipeline.completions"));
+        assertEquals(1L, registry.get("mutiny.pipeline.first.item").timer().count());
+    }
+
+    @Test
+    void multi_instrumented_demand() {
+        AssertSubscriber<Integer> subscriber = Multi.createFrom().<Integer>emitter((em) -> {
+                    em.emit(1);
+                    em.emit(2);
+                })
+                .plug(metrics.multi(PIPELINE))
+                .subscribe().withSubscriber(AssertSubscriber.create(5));
+
+        subscriber.assertItems(1, 2).assertNotTerminated();
+        assertEquals(3.0, gauge("mutiny.pipeline.demand"));
+        assertEquals(1.0, gauge("mutiny.pipeline.subscriptions.active"));
+
+        subscriber.cancel();
+        assertEquals(1.0, counter("mutiny.pipeline.cancellations"));
+        assertEquals(0.0, gauge("mutiny.pipeline.demand"));
+        assertEquals(0.0, gauge("mutiny.pipeline.subscriptions.active"));
+    }
+
+    @Test
+    void multi_instrumented_failure() {
+        AssertSubscriber<Integer> subscriber = Multi.createFrom().<Integer>emitter((em) -> {
+                    em.emit(1);
+                    em.emit(2);
+                    em.emit(3);
+                    em.fail(new RuntimeException("emmitter failure"));
+                })
+                .plug(metrics.multi(PIPELINE))
+                .subscribe().withSubscriber(AssertSubscriber.create(Long.MAX_VALUE));
+
+        subscriber.awaitFailure();
+        assertEquals(3.0, counter("mutiny.pipeline.items"));
+        assertEquals(1.0, counter("mutiny.pipeline.failures"));
+        assertEquals(0.0, counter("mutiny.pipeline.requested"));
+    }
+
+    @Test
+    void multi_instrumented_spans() {
+        InMemorySpanExporter exporter = InMemorySpanExporter.create();
+        try (SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+                .build()) {
+            PipelineMetrics traced = metrics.withTracer(tracerProvider.get("mutiny"));
+
+            MULTI_DEFAULT_MUTINY.plug(traced.multi(PIPELINE))
+                    .subscribe().withSubscriber(AssertSubscriber.create(Long.MAX_VALUE))
+                    .assertCompleted();
+            Multi.createFrom().<String>failure(new RuntimeException("emmitter failure"))
+                    .plug(traced.multi(PIPELINE))
+                    .subscribe().withSubscriber(AssertSubscriber.create(Long.MAX_VALUE))
+                    .assertFailedWith(RuntimeException.class, "emmitter failure");
+
+            List<SpanData> spans = exporter.getFinishedSpanItems();
+            assertEquals(2, spans.size());
+            assertEquals(PIPELINE, spans.get(0).getName());
+            assertEquals(4L, spans.get(0).getAttributes().get(AttributeKey.longKey("mutiny.items")));
+            assertEquals(StatusCode.ERROR, spans.get(1).getStatus().getStatusCode());
+        }
+    }
+
+    @Test
+    void adaptive_limiter_gauges() {
+        AdaptiveLimiter limiter = metrics.limiter(PIPELINE, new AdaptiveLimiter(2, 1, 8));
+        assertEquals(2.0, gauge("mutiny.pipeline.limit"));
+        assertEquals(0.0, gauge("mutiny.pipeline.in.flight"));
+
+        List<UniAssertSubscriber<Object>> running = List.of(
+                limiter.submit(() -> Uni.createFrom().nothing()).subscribe().withSubscriber(UniAssertSubscriber.create()),
+                limiter.submit(() -> Uni.createFrom().nothing()).subscribe().withSubscriber(UniAssertSubscriber.create()),
+                limiter.submit(() -> Uni.createFrom().nothing()).subscribe().withSubscriber(UniAssertSubscriber.create()));
+        assertEquals(2.0, gauge("mutiny.pipeline.in.flight"));
+
+        running.forEach(UniAssertSubscriber::cancel);
+        assertEquals(0.0, gauge("mutiny.pipeline.in.flight"));
+        assertEquals(2.0, gauge("mutiny.pipeline.limit"));
+    }
+
+    @Test
+    void multi_instrumented_disabled() {
+        assertSame(MULTI_DEFAULT_MUTINY, MULTI_DEFAULT_MUTINY.plug(PipelineMetrics.disabled().multi(PIPELINE)));
+        assertSame(UNI_DEFAULT_MUTINY, UNI_DEFAULT_MUTINY.plug(PipelineMetrics.disabled().uni(PIPELINE)));
+        AdaptiveLimiter limiter = new AdaptiveLimiter(2, 1, 8);
+        assertSame(limiter, PipelineMetrics.disabled().limiter(PIPELINE, limiter));
+    }
+
+    private double counter(String name) {
+        return registry.get(name).tag("pipeline", PIPELINE).functionCounter().count();
+    }
+
+    private double gauge(String name) {
+        return registry.get(name).tag("pipeline", PIPELINE).gauge().value();
+    }
+}
@@ -0,0 +1,114 @@
+package merboxel.quarkus;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.helpers.test.AssertSubscriber;
+import merboxel.quarkus.primitive.LongChunk;
+import merboxel.quarkus.primitive.LongMulti;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@QuarkusTest
+public class MutinyLongMultiTest {
+
+    @Test
+    public void long_multi_range() {
+        assertArrayEquals(
+                new long[]{1,2,3,4,5},
+                LongMulti.range(1, 6).collect().await().atMost(Duration.ofSeconds(1))
+        );
+    }
+
+    @Test
+    public void long_multi_range_chunked() {
+        AssertSubscriber<LongChunk> subscriber = LongMulti.range(0, 10, 4).chunks()
+                .subscribe().withSubscriber(AssertSubscriber.create(2));
+
+        subscriber.assertNotTerminated();
+        assertEquals(2, subscriber.getItems().size());
+        subscriber.request(1);
+        subscriber.assertCompleted();
+        assertEquals(2, subscriber.getItems().get(2).size());
+    }
+
+    @Test
+    public void long_multi_range_full_long_span() {
+        assertArrayEquals(
+                new long[]{Long.MIN_VALUE, Long.MIN_VALUE + 1, Long.MIN_VALUE + 2, Long.MIN_VALUE + 3, Long.MIN_VALUE + 4, Long.MIN_VALUE + 5},
+                LongMulti.range(Long.MIN_VALUE, Long.MAX_VALUE, 4).limit(6).collect().await().atMost(Duration.ofSeconds(1))
+        );
+        assertArrayEquals(
+                new long[]{-1, 0, 1},
+                LongMulti.range(-1, Long.MAX_VALUE).limit(3).collect().await().atMost(Duration.ofSeconds(1))
+        );
+        assertArrayEquals(
+                new long[]{Long.MAX_VALUE - 3, Long.MAX_VALUE - 2, Long.MAX_VALUE - 1},
+                LongMulti.range(Long.MAX_VALUE - 3, Long.MAX_VALUE, 2).collect().await().atMost(Duration.ofSeconds(1))
+        );
+    }
+
+    @Test
+    public void long_multi_endless_get_first_100() {
+        AtomicLong counter = new AtomicLong();
+
+        assertArrayEquals(
+                LongMulti.range(0, 100).collect().await().atMost(Duration.ofSeconds(1)),
+                LongMulti.generate(counter::getAndIncrement, 64).limit(100).collect().await().atMost(Duration.ofSeconds(1))
+        );
+        assertEquals(128, counter.get());
+    }
+
+    @Test
+    public void long_multi_map_filter() {
+        assertArrayEquals(
+                new long[]{0,6,12,18},
+                LongMulti.range(0, 10, 3)
+                        .map((i) -> i * 2)
+                        .filter((i) -> i % 3 == 0)
+                        .collect().await().atMost(Duration.ofSeconds(1))
+        );
+    }
+
+    @Test
+    public void long_multi_from_arrays_leaves_source() {
+        long[] source = {1, 2, 3};
+        LongMulti doubled = LongMulti.fromArrays(Multi.createFrom().item(source)).map((i) -> i * 2);
+
+        assertArrayEquals(new long[]{2,4,6}, doubled.collect().await().atMost(Duration.ofSeconds(1)));
+        assertArrayEquals(new long[]{2,4,6}, doubled.collect().await().atMost(Duration.ofSeconds(1)));
+        assertArrayEquals(new long[]{1,2,3}, source);
+    }
+
+    @Test
+    public void long_multi_window_sum() {
+        assertArrayEquals(
+                new long[]{3,12,21,9},
+                LongMulti.range(0, 10, 4).windowSum(3).collect().await().atMost(Duration.ofSeconds(1))
+        );
+    }
+
+    @Test
+    public void long_multi_sum_count() {
+        LongMulti evens = LongMulti.iterate(0, (i) -> i + 2, 100).limit(1_000);
+
+        assertEquals(999_000L, evens.sum().await().atMost(Duration.ofSeconds(1)));
+        assertEquals(1_000L, evens.count().await().atMost(Duration.ofSeconds(1)));
+    }
+
+    @Test
+    public void long_multi_interop() {
+        assertEquals(
+                Multi.createFrom().range(1, 6).onItem().transform((i) -> i * 10L).collect().asList()
+                        .await().atMost(Duration.ofSeconds(1)),
+                LongMulti.from(Multi.createFrom().range(1, 6).onItem().transform(Integer::longValue), 2)
+                        .map((i) -> i * 10)
+                        .toMulti()
+                        .collect().asList().await().atMost(Duration.ofSeconds(1))
+        );
+    }
+}
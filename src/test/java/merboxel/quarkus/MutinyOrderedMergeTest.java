@@ -0,0 +1,103 @@
+package merboxel.quarkus;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.test.AssertSubscriber;
+import merboxel.quarkus.concurrency.OrderedMerge;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@QuarkusTest
+public class MutinyOrderedMergeTest {
+
+    private final static List<Integer> MULTI_DEFAULT_TEST_VALUE = List.of(1,2,3,4);
+    private final static Multi<Integer> MULTI_DEFAULT_MUTINY = Multi.createFrom().iterable(MULTI_DEFAULT_TEST_VALUE);
+
+    @Test
+    public void multi_transformToUni_ordered_merge() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        // later items complete first, a plain merge() would emit them as {4,3,2,1}
+        AssertSubscriber<Integer> subscriber = MULTI_DEFAULT_MUTINY
+                .plug(OrderedMerge.transformToUni(4, (i) -> Uni.createFrom().item(i)
+                        .onSubscription().invoke(() -> maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max))
+                        .onItem().delayIt().by(Duration.ofMillis((5 - i) * 20L))
+                        .onTermination().invoke(inFlight::decrementAndGet)))
+                .subscribe().withSubscriber(AssertSubscriber.create());
+
+        subscriber.awaitNextItems(MULTI_DEFAULT_TEST_VALUE.size()).awaitCompletion().assertItems(
+                new Integer[]{1,2,3,4}
+        );
+        assertEquals(4, maxInFlight.get());
+    }
+
+    @Test
+    public void multi_transformToMulti_ordered_merge() {
+        AssertSubscriber<Integer> subscriber = MULTI_DEFAULT_MUTINY
+                .plug(OrderedMerge.transformToMulti(4, (i) -> Multi.createFrom().items(i,i+4)))
+                .subscribe().withSubscriber(AssertSubscriber.create());
+
+        subscriber.awaitNextItems(MULTI_DEFAULT_TEST_VALUE.size()*2).assertItems(
+                new Integer[]{1,5,2,6,3,7,4,8}
+        ).assertCompleted();
+    }
+
+    @Test
+    public void multi_transformToMulti_ordered_merge_delayed() {
+        AssertSubscriber<Integer> subscriber = MULTI_DEFAULT_MUTINY
+                .plug(OrderedMerge.transformToMulti(4, (i) -> Uni.createFrom().item(i)
+                        .onItem().delayIt().by(Duration.ofMillis((5 - i) * 20L))
+                        .onItem().transformToMulti((x) -> Multi.createFrom().items(x,x+4))))
+                .subscribe().withSubscriber(AssertSubscriber.create());
+
+        subscriber.awaitNextItems(MULTI_DEFAULT_TEST_VALUE.size()*2).awaitCompletion().assertItems(
+                new Integer[]{1,5,2,6,3,7,4,8}
+        );
+    }
+
+    @Test
+    public void multi_transformToUni_ordered_merge_bounded() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        AssertSubscriber<Integer> subscriber = Multi.createFrom().range(0, 50)
+                .plug(OrderedMerge.transformToUni(3, (i) -> Uni.createFrom().item(i)
+                        .onSubscription().invoke(() -> maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max))
+                        .onItem().delayIt().by(Duration.ofMillis(1 + (i * 7) % 5))
+                        .onTermination().invoke(inFlight::decrementAndGet)))
+                .subscribe().withSubscriber(AssertSubscriber.create(Long.MAX_VALUE));
+
+        subscriber.awaitCompletion(Duration.ofSeconds(5));
+        assertEquals(Multi.createFrom().range(0, 50).collect().asList().await().indefinitely(), subscriber.getItems());
+        assertEquals(3, maxInFlight.get());
+    }
+
+    @Test
+    public void multi_transformToMulti_ordered_merge_demand() {
+        AssertSubscriber<Integer> subscriber = MULTI_DEFAULT_MUTINY
+                .plug(OrderedMerge.transformToMulti(2, 1, (i) -> Multi.createFrom().items(i,i+4)))
+                .subscribe().withSubscriber(AssertSubscriber.create(3));
+
+        subscriber.assertItems(1, 5, 2).assertNotTerminated();
+        subscriber.request(5);
+        subscriber.assertItems(1, 5, 2, 6, 3, 7, 4, 8).assertCompleted();
+    }
+
+    @Test
+    public void multi_transformToUni_ordered_merge_failure() {
+        AssertSubscriber<Integer> subscriber = MULTI_DEFAULT_MUTINY
+                .plug(OrderedMerge.<Integer, Integer>transformToUni(4, (i) -> i == 3
+                        ? Uni.createFrom().failure(new RuntimeException("inner failure"))
+                        : Uni.createFrom().item(i).onItem().delayIt().by(Duration.ofMillis(20))))
+                .subscribe().withSubscriber(AssertSubscriber.create(Long.MAX_VALUE));
+
+        subscriber.awaitFailure().assertFailedWith(RuntimeException.class, "inner failure");
+    }
+}
@@ -0,0 +1,133 @@
+package merboxel.quarkus;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.test.AssertSubscriber;
+import merboxel.quarkus.concurrency.Partitioned;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link Partitioned} with account events: every event of an account is handled after the previous one completed,
+ * while different accounts are handled in parallel.
+ */
+@QuarkusTest
+public class MutinyPartitionTest {
+
+    private final static int ACCOUNTS = 10;
+    private final static int EVENTS_PER_ACCOUNT = 100;
+    private final static int LANES = 4;
+    private final static Duration TIMEOUT = Duration.ofSeconds(30);
+
+    record Event(int account, int sequence) {
+    }
+
+    @Test
+    void multi_partitioned_per_key_order() {
+        Map<Integer, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+        AtomicInteger maxPerKey = new AtomicInteger();
+
+        AssertSubscriber<Event> subscriber = events()
+                .plug(Partitioned.transformToUni(LANES, Event::account, (Event event) -> {
+                    AtomicInteger running = inFlight.computeIfAbsent(event.account(), (account) -> new AtomicInteger());
+                    maxPerKey.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    return Uni.createFrom().item(event)
+                            .onItem().delayIt().by(Duration.ofMillis(1 + ThreadLocalRandom.current().nextInt(3)))
+                            .onTermination().invoke(running::decrementAndGet);
+                }))
+                .subscribe().withSubscriber(AssertSubscriber.create(Long.MAX_VALUE));
+
+        List<Event> items = subscriber.awaitCompletion(TIMEOUT).getItems();
+        assertEquals(ACCOUNTS * EVENTS_PER_ACCOUNT, items.size());
+        assertEquals(1, maxPerKey.get());
+        Map<Integer, List<Integer>> sequences = new HashMap<>();
+        items.forEach((event) -> sequences.computeIfAbsent(event.account(), (account) -> new ArrayList<>()).add(event.sequence()));
+        List<Integer> expected = IntStream.range(0, EVENTS_PER_ACCOUNT).boxed().toList();
+        sequences.values().forEach((sequence) -> assertEquals(expected, sequence));
+    }
+
+    @Test
+    void multi_partitioned_lanes_run_in_parallel() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        AtomicIntegerArray perLane = new AtomicIntegerArray(LANES);
+        AtomicInteger maxPerLane = new AtomicInteger();
+
+        events().plug(Partitioned.transformToUni(LANES, (Event event) -> event.account() % LANES, (Event event) -> {
+                    int lane = event.account() % LANES;
+                    maxPerLane.accumulateAndGet(perLane.incrementAndGet(lane), Math::max);
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    return Uni.createFrom().item(event)
+                            .onItem().delayIt().by(Duration.ofMillis(1))
+                            .onTermination().invoke(() -> {
+                                running.decrementAndGet();
+                                perLane.decrementAndGet(lane);
+                            });
+                }))
+                .subscribe().withSubscriber(AssertSubscriber.create(Long.MAX_VALUE))
+                .awaitCompletion(TIMEOUT);
+
+        assertEquals(1, maxPerLane.get());
+        assertTrue(maxRunning.get() > 1, "at most " + maxRunning.get() + " event in flight");
+        assertTrue(maxRunning.get() <= LANES);
+    }
+
+    @Test
+    void multi_partitioned_lane_executors() {
+        List<ExecutorService> executors = IntStream.range(0, LANES)
+                .mapToObj((lane) -> Executors.newSingleThreadExecutor(Thread.ofPlatform().name("lane-" + lane).factory()))
+                .toList();
+        Set<String> threads = Collections.newSetFromMap(new ConcurrentHashMap<>());
+        AssertSubscriber<Event> subscriber;
+        try {
+            subscriber = events().plug(Partitioned.transformToMulti(LANES, executors::get, Event::account, (Event event) -> {
+                        threads.add(Thread.currentThread().getName());
+                        return Multi.createFrom().items(event, event);
+                    }))
+                    .subscribe().withSubscriber(AssertSubscriber.create(Long.MAX_VALUE))
+                    .awaitCompletion(TIMEOUT);
+        } finally {
+            executors.forEach(ExecutorService::shutdown);
+        }
+        assertEquals(2 * ACCOUNTS * EVENTS_PER_ACCOUNT, subscriber.getItems().size());
+        assertEquals(Set.of("lane-0", "lane-1", "lane-2", "lane-3"), threads);
+    }
+
+    @Test
+    void multi_partitioned_failure() {
+        events().plug(Partitioned.transformToUni(LANES, Event::account, (Event event) ->
+                        event.sequence() == 50 ? Uni.createFrom().failure(new RuntimeException("event failure"))
+                                : Uni.createFrom().item(event)))
+                .subscribe().withSubscriber(AssertSubscriber.create(Long.MAX_VALUE))
+                .awaitFailure(TIMEOUT)
+                .assertFailedWith(RuntimeException.class, "event failure");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> Partitioned.transformToUni(0, Event::account, (Event event) -> Uni.createFrom().item(event)));
+    }
+
+    // Accounts interleaved, in sequence order within an account.
+    private static Multi<Event> events() {
+        return Multi.createFrom().range(0, ACCOUNTS * EVENTS_PER_ACCOUNT)
+                .map((i) -> new Event(i % ACCOUNTS, i / ACCOUNTS));
+    }
+}
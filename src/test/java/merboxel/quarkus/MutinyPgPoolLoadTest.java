@@ -0,0 +1,139 @@
+package merboxel.quarkus;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.Multi;
+import io.vertx.mutiny.pgclient.PgPool;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.RowSet;
+import io.vertx.mutiny.sqlclient.SqlConnection;
+import io.vertx.mutiny.sqlclient.Tuple;
+import jakarta.inject.Inject;
+import merboxel.quarkus.batch.PgBatchQueries;
+import merboxel.quarkus.batch.StreamingBatcher;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the fan-out strategies of {@link MutinyTransformAsyncTest} concurrently against the embedded PostgreSQL and
+ * reports queries per second, the time each query waited for a pooled connection and latency percentiles for each
+ * of them.
+ */
+@QuarkusTest
+public class MutinyPgPoolLoadTest {
+
+    private final static List<Integer> MULTI_DEFAULT_TEST_VALUE = List.of(1,2,3,4);
+    private final static Multi<Integer> MULTI_DEFAULT_MUTINY = Multi.createFrom().iterable(MULTI_DEFAULT_TEST_VALUE);
+    private final static Long PGPOOL_EXPECTED_ROWS = MULTI_DEFAULT_TEST_VALUE.size() * 25L * 4L;
+
+    private final static int RUNS = 40;
+    private final static int CONCURRENCY = 8;
+
+    @Inject
+    PgPool client;
+
+    private final LongAdder queries = new LongAdder();
+    private final ConcurrentLinkedQueue<Long> poolWaits = new ConcurrentLinkedQueue<>();
+
+    @Test
+    public void pgpool_load_per_row() {
+        report("per_row", () -> MULTI_DEFAULT_MUTINY.onItem().transformToMulti((i) ->
+                query("""
+                    SELECT * FROM "table" WHERE "column" = $1
+                """, i).onItem().transformToMulti((row) ->
+                        query("""
+                            SELECT * FROM table2 WHERE "column" = $1
+                        """, row.getInteger("id"))
+                ).merge()
+        ).merge());
+    }
+
+    @Test
+    public void pgpool_load_executeBatch() {
+        report("executeBatch", () -> MULTI_DEFAULT_MUTINY.onItem().transformToMulti((i) ->
+                query("""
+                    SELECT * FROM "table" WHERE "column" = $1
+                """, i)
+                .onItem().transform((row) -> Tuple.of(row.getInteger("id")))
+                .collect().asList()
+                .onItem().transformToMulti((rowList) -> withConnection((connection) -> connection.preparedQuery("""
+                    SELECT * FROM table2 WHERE "column" = $1
+                """).executeBatch(rowList).onItem().transformToMulti(PgBatchQueries::allRows)))
+        ).merge());
+    }
+
+    @Test
+    public void pgpool_load_streamingBatch() {
+        report("streamingBatch", () -> MULTI_DEFAULT_MUTINY.onItem().transformToMulti((i) ->
+                query("""
+                    SELECT * FROM "table" WHERE "column" = $1
+                """, i)
+        ).merge()
+        .onItem().transform((row) -> row.getInteger("id"))
+        .plug(StreamingBatcher.<Integer, Row>of(64, Duration.ofMillis(5), (ids) -> withConnection((connection) ->
+                PgBatchQueries.anyOf(connection, """
+                    SELECT * FROM table2 WHERE "column" = ANY($1)
+                """, Integer[]::new).apply(ids))
+        ).withConcurrency(4)));
+    }
+
+    private Multi<Row> query(String sql, Integer parameter) {
+        return withConnection((connection) -> connection.preparedQuery(sql).execute(Tuple.of(parameter))
+                .onItem().transformToMulti(RowSet::toMulti));
+    }
+
+    // Each query borrows its connection explicitly, so the pool wait is measured on the load itself.
+    private Multi<Row> withConnection(Function<SqlConnection, Multi<Row>> queryOn) {
+        return Multi.createFrom().deferred(() -> {
+            long start = System.nanoTime();
+            return client.getConnection()
+                    .onItem().invoke(() -> {
+                        poolWaits.add(System.nanoTime() - start);
+                        queries.increment();
+                    })
+                    .onItem().transformToMulti((connection) -> queryOn.apply(connection)
+                            .onTermination().call(connection::close));
+        });
+    }
+
+    private void report(String strategy, Supplier<Multi<?>> pipeline) {
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+
+        long start = System.nanoTime();
+        List<Long> rows = Multi.createFrom().range(0, RUNS).onItem().transformToUni((run) -> {
+            long runStart = System.nanoTime();
+            return pipeline.get().collect().with(Collectors.counting())
+                    .onItem().invoke(() -> latencies.add(System.nanoTime() - runStart));
+        }).merge(CONCURRENCY).collect().asList().await().atMost(Duration.ofMinutes(1));
+        long elapsed = System.nanoTime() - start;
+
+        rows.forEach((count) -> assertEquals(PGPOOL_EXPECTED_ROWS, count));
+
+        System.out.printf("'%s' %d runs x %d concurrent: %.0f queries/s, pool wait p50 %.2f ms p99 %.2f ms, latency p50 %.2f ms p99 %.2f ms%n",
+                strategy, RUNS, CONCURRENCY,
+                queries.sum() / (elapsed / 1_000_000_000.0),
+                percentileMillis(poolWaits, 0.50),
+                percentileMillis(poolWaits, 0.99),
+                percentileMillis(latencies, 0.50),
+                percentileMillis(latencies, 0.99));
+    }
+
+    private static double percentileMillis(ConcurrentLinkedQueue<Long> samples, double percentile) {
+        long[] sorted = samples.stream().mapToLong(Long::longValue).toArray();
+        if (sorted.length == 0) {
+            return 0;
+        }
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+}
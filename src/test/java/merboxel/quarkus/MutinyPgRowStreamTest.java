@@ -0,0 +1,137 @@
+package merboxel.quarkus;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.helpers.test.AssertSubscriber;
+import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
+import io.vertx.mutiny.pgclient.PgPool;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.RowSet;
+import io.vertx.mutiny.sqlclient.Tuple;
+import jakarta.inject.Inject;
+import merboxel.quarkus.stream.PgRowStreams;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Reads {@code large_table} (200,000 rows, about 100 MB) through {@link PgRowStreams} and through
+ * {@code RowSet::toMulti}, comparing the heap retained while the rows flow and the time to the first row.
+ */
+@QuarkusTest
+public class MutinyPgRowStreamTest {
+
+    private final static List<Integer> MULTI_DEFAULT_TEST_VALUE = List.of(1,2,3,4);
+    private final static Multi<Integer> MULTI_DEFAULT_MUTINY = Multi.createFrom().iterable(MULTI_DEFAULT_TEST_VALUE);
+    private final static Long PGPOOL_EXPECTED_ROWS = MULTI_DEFAULT_TEST_VALUE.size() * 25L * 4L;
+    private final static Duration PGPOOL_TIMEOUT = Duration.ofMinutes(1);
+
+    private final static String LARGE_TABLE_QUERY = "SELECT * FROM large_table";
+    private final static long LARGE_TABLE_ROWS = 200_000L;
+    private final static int FETCH_SIZE = 256;
+    private final static long HEAP_SAMPLE_EVERY = 20_000L;
+    private final static long MAX_RETAINED_BYTES = 32L * 1024 * 1024;
+    private final static int FIRST_ROW_RUNS = 3;
+
+    @Inject
+    PgPool client;
+
+    @Test
+    public void multi_pgpool_rowStream() {
+
+        UniAssertSubscriber<Long> subscriber = MULTI_DEFAULT_MUTINY.onItem().transformToMulti((i) ->
+
+            PgRowStreams.stream(client, """
+                SELECT * FROM "table" WHERE "column" = $1
+            """, Tuple.of(i), 8)
+            .onItem().transformToMulti((row) ->
+
+                PgRowStreams.stream(client, """
+                    SELECT * FROM table2 WHERE "column" = $1
+                """, Tuple.of(row.getInteger("id")))
+            ).merge(4)
+        ).merge().collect().with(Collectors.counting())
+        .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        subscriber.awaitItem(PGPOOL_TIMEOUT).assertItem(PGPOOL_EXPECTED_ROWS);
+    }
+
+    @Test
+    public void multi_pgpool_rowStream_demand() {
+        AssertSubscriber<Row> subscriber = PgRowStreams.stream(client, LARGE_TABLE_QUERY, Tuple.tuple(), 16)
+                .subscribe().withSubscriber(AssertSubscriber.create(10));
+
+        subscriber.awaitItems(10).assertNotTerminated();
+        assertEquals(10, subscriber.getItems().size());
+        subscriber.request(5).awaitItems(15).assertNotTerminated();
+        subscriber.cancel();
+
+        // the cancelled cursor rolled back and gave its connection back
+        assertEquals(1L, PgRowStreams.stream(client, "SELECT 1", Tuple.tuple())
+                .collect().with(Collectors.counting()).await().atMost(PGPOOL_TIMEOUT));
+    }
+
+    @Test
+    public void multi_pgpool_rowStream_bounded_heap() {
+        long streamed = retainedWhileReading(() -> PgRowStreams.stream(client, LARGE_TABLE_QUERY, Tuple.tuple(), FETCH_SIZE));
+        long materialized = retainedWhileReading(() -> client.query(LARGE_TABLE_QUERY).execute()
+                .onItem().transformToMulti(RowSet::toMulti));
+
+        System.out.printf("'large_table' %d rows, retained heap: rowStream %.1f MB, RowSet %.1f MB%n",
+                LARGE_TABLE_ROWS, streamed / 1_048_576.0, materialized / 1_048_576.0);
+        assertTrue(streamed < MAX_RETAINED_BYTES, "rowStream retained " + streamed + " bytes");
+        assertTrue(streamed < materialized);
+    }
+
+    @Test
+    public void multi_pgpool_rowStream_time_to_first_row() {
+        double streamed = firstRowMillis(() -> PgRowStreams.stream(client, LARGE_TABLE_QUERY, Tuple.tuple(), FETCH_SIZE));
+        double materialized = firstRowMillis(() -> client.query(LARGE_TABLE_QUERY).execute()
+                .onItem().transformToMulti(RowSet::toMulti));
+
+        System.out.printf("'large_table' time to first row: rowStream %.2f ms, RowSet %.2f ms%n",
+                streamed, materialized);
+        assertTrue(streamed < materialized);
+    }
+
+    // Largest heap growth while all the rows are read, measured after a full GC every HEAP_SAMPLE_EVERY rows. The rows
+    // are pulled through a blocking iterable, so the GC runs on the test thread while the event loop keeps streaming.
+    private long retainedWhileReading(Supplier<Multi<Row>> rows) {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long baseline = usedAfterGc(memory);
+        long count = 0;
+        long maxRetained = 0;
+
+        for (Row ignored : rows.get().subscribe().asIterable()) {
+            if (++count % HEAP_SAMPLE_EVERY == 0) {
+                maxRetained = Math.max(maxRetained, usedAfterGc(memory) - baseline);
+            }
+        }
+
+        assertEquals(LARGE_TABLE_ROWS, count);
+        return maxRetained;
+    }
+
+    private static long usedAfterGc(MemoryMXBean memory) {
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private static double firstRowMillis(Supplier<Multi<Row>> rows) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < FIRST_ROW_RUNS; i++) {
+            long start = System.nanoTime();
+            rows.get().select().first().collect().first().await().atMost(PGPOOL_TIMEOUT);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1_000_000.0;
+    }
+}
@@ -0,0 +1,37 @@
+package merboxel.quarkus;
+
+import io.quarkus.test.junit.QuarkusTest;
+import merboxel.quarkus.rest.PipelineResource;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * The endpoints of {@link PipelineResource} that the startup harness of the benchmarks module measures.
+ */
+@QuarkusTest
+public class MutinyPipelineResourceTest {
+
+    private final static int SIZE = 10;
+
+    @Test
+    void pipeline_creations() {
+        given().queryParam("size", SIZE).when().get("/pipelines/creations").then().statusCode(200).body(is("45"));
+    }
+
+    @Test
+    void pipeline_transform_sync() {
+        given().queryParam("size", SIZE).when().get("/pipelines/transform-sync").then().statusCode(200).body(is("90"));
+    }
+
+    @Test
+    void pipeline_transform_async() {
+        given().queryParam("size", SIZE).when().get("/pipelines/transform-async").then().statusCode(200).body(is("90"));
+    }
+
+    @Test
+    void pipeline_pgpool() {
+        given().queryParam("size", SIZE).when().get("/pipelines/pgpool").then().statusCode(200).body(is("55"));
+    }
+}
@@ -0,0 +1,263 @@
+package merboxel.quarkus;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.TimeoutException;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
+import merboxel.quarkus.resilience.Backoff;
+import merboxel.quarkus.resilience.Hedge;
+import merboxel.quarkus.resilience.LatencyTracker;
+import merboxel.quarkus.resilience.ResilienceMetrics;
+import merboxel.quarkus.resilience.Retry;
+import merboxel.quarkus.resilience.RetryBudget;
+import merboxel.quarkus.time.VirtualTimeScheduler;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@code multi_observing_failure_recover} with retries, timeouts and hedging instead of a static fallback. Every
+ * delay runs on a {@link VirtualTimeScheduler}, the tests move its clock instead of sleeping.
+ */
+@QuarkusTest
+public class MutinyResilienceTest {
+
+    private final static String UNI_DEFAULT_TEST_VALUE = "test";
+    private final static String OPERATION = "lookup";
+    private final static long SEED = 42L;
+    private final static Duration INITIAL_BACKOFF = Duration.ofMillis(100);
+    private final static Duration MAX_BACKOFF = Duration.ofSeconds(10);
+    private final static Duration ATTEMPT_TIMEOUT = Duration.ofSeconds(1);
+    private final static Duration OBSERVED_LATENCY = Duration.ofMillis(10);
+
+    private final VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final ResilienceMetrics metrics = ResilienceMetrics.of(registry, OPERATION);
+
+    @Test
+    void backoff_full_jitter() {
+        Backoff backoff = Backoff.exponential(INITIAL_BACKOFF, MAX_BACKOFF).withRandom(new Random(SEED));
+
+        assertEquals(Duration.ofMillis(100), backoff.ceiling(0));
+        assertEquals(Duration.ofMillis(800), backoff.ceiling(3));
+        assertEquals(MAX_BACKOFF, backoff.ceiling(7));
+        assertEquals(MAX_BACKOFF, backoff.ceiling(Integer.MAX_VALUE));
+        for (int retry = 0; retry < 10; retry++) {
+            Duration delay = backoff.delay(retry);
+            assertTrue(!delay.isNegative() && delay.compareTo(backoff.ceiling(retry)) <= 0, delay.toString());
+        }
+    }
+
+    @Test
+    void uni_retry_with_backoff() {
+        AtomicInteger attempts = new AtomicInteger();
+        Uni<String> flaky = Uni.createFrom().deferred(() -> attempts.incrementAndGet() < 3
+                ? Uni.createFrom().failure(new RuntimeException("emmitter failure"))
+                : Uni.createFrom().item(UNI_DEFAULT_TEST_VALUE));
+        Backoff expected = Backoff.exponential(INITIAL_BACKOFF, MAX_BACKOFF).withRandom(new Random(SEED));
+        Duration firstDelay = expected.delay(0);
+        Duration secondDelay = expected.delay(1);
+
+        UniAssertSubscriber<String> subscriber = flaky
+                .plug(Retry.<String>of(3, Backoff.exponential(INITIAL_BACKOFF, MAX_BACKOFF).withRandom(new Random(SEED)))
+                        .withExecutor(scheduler)
+                        .withMetrics(metrics))
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        assertEquals(1, attempts.get());
+        scheduler.advanceBy(firstDelay.minusNanos(1));
+        assertEquals(1, attempts.get());
+        scheduler.advanceBy(Duration.ofNanos(1));
+        assertEquals(2, attempts.get());
+        scheduler.advanceBy(secondDelay);
+
+        subscriber.assertItem(UNI_DEFAULT_TEST_VALUE);
+        assertEquals(3.0, counter("mutiny.resilience.attempts"));
+        assertEquals(2.0, counter("mutiny.resilience.retries"));
+    }
+
+    @Test
+    void uni_retry_zero_delay() {
+        AtomicInteger attempts = new AtomicInteger();
+        Uni<String> flaky = Uni.createFrom().deferred(() -> attempts.incrementAndGet() < 3
+                ? Uni.createFrom().failure(new RuntimeException("emmitter failure"))
+                : Uni.createFrom().item(UNI_DEFAULT_TEST_VALUE));
+
+        // below a millisecond every delay rounds down to zero
+        UniAssertSubscriber<String> subscriber = flaky
+                .plug(Retry.<String>of(3, Backoff.exponential(Duration.ofNanos(1), Duration.ofNanos(1)))
+                        .withExecutor(scheduler))
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        subscriber.assertItem(UNI_DEFAULT_TEST_VALUE);
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void uni_retry_exhausted() {
+        UniAssertSubscriber<String> subscriber = Uni.createFrom().<String>failure(new RuntimeException("emmitter failure"))
+                .plug(Retry.<String>of(3, Backoff.exponential(INITIAL_BACKOFF, MAX_BACKOFF))
+                        .withExecutor(scheduler)
+                        .withMetrics(metrics))
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        scheduler.advanceBy(Duration.ofHours(1));
+        subscriber.assertFailedWith(RuntimeException.class, "emmitter failure");
+        assertEquals(3.0, counter("mutiny.resilience.attempts"));
+    }
+
+    @Test
+    void uni_retry_attempt_timeout() {
+        AtomicInteger attempts = new AtomicInteger();
+        Uni<String> stuckOnce = Uni.createFrom().deferred(() -> attempts.incrementAndGet() == 1
+                ? Uni.createFrom().nothing()
+                : Uni.createFrom().item(UNI_DEFAULT_TEST_VALUE));
+
+        UniAssertSubscriber<String> subscriber = stuckOnce
+                .plug(Retry.<String>of(2, Backoff.exponential(INITIAL_BACKOFF, MAX_BACKOFF))
+                        .withAttemptTimeout(ATTEMPT_TIMEOUT)
+                        .withExecutor(scheduler)
+                        .withMetrics(metrics))
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        scheduler.advanceBy(ATTEMPT_TIMEOUT.minusMillis(1));
+        subscriber.assertNotTerminated();
+        scheduler.advanceBy(Duration.ofMillis(1).plus(INITIAL_BACKOFF));
+
+        subscriber.assertItem(UNI_DEFAULT_TEST_VALUE);
+        assertEquals(1.0, counter("mutiny.resilience.timeouts"));
+    }
+
+    @Test
+    void uni_retry_attempt_timeout_exhausted() {
+        UniAssertSubscriber<String> subscriber = Uni.createFrom().<String>nothing()
+                .plug(Retry.<String>of(1, Backoff.exponential(INITIAL_BACKOFF, MAX_BACKOFF))
+                        .withAttemptTimeout(ATTEMPT_TIMEOUT)
+                        .withExecutor(scheduler))
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        scheduler.advanceBy(ATTEMPT_TIMEOUT);
+        subscriber.assertFailedWith(TimeoutException.class);
+    }
+
+    @Test
+    void uni_retry_budget_shared() {
+        RetryBudget budget = RetryBudget.of(0.0, 1);
+        Retry<String> retry = Retry.<String>of(5, Backoff.exponential(INITIAL_BACKOFF, MAX_BACKOFF))
+                .withBudget(budget)
+                .withExecutor(scheduler)
+                .withMetrics(metrics);
+        Uni<String> failing = Uni.createFrom().failure(new RuntimeException("emmitter failure"));
+
+        UniAssertSubscriber<String> first = failing.plug(retry).subscribe().withSubscriber(UniAssertSubscriber.create());
+        UniAssertSubscriber<String> second = failing.plug(retry).subscribe().withSubscriber(UniAssertSubscriber.create());
+        scheduler.advanceBy(Duration.ofHours(1));
+
+        first.assertFailedWith(RuntimeException.class, "emmitter failure");
+        second.assertFailedWith(RuntimeException.class, "emmitter failure");
+        // the only token went to the first pipeline's first retry
+        assertEquals(1.0, counter("mutiny.resilience.retries"));
+        assertEquals(2.0, counter("mutiny.resilience.retries.rejected"));
+        assertEquals(2L, budget.rejected());
+    }
+
+    @Test
+    void uni_hedged_after_p95() {
+        LatencyTracker tracker = warmedUpTracker();
+        AtomicInteger attempts = new AtomicInteger();
+        AtomicBoolean primaryCancelled = new AtomicBoolean();
+        Uni<String> slowOnce = Uni.createFrom().deferred(() -> attempts.incrementAndGet() == 1
+                ? Uni.createFrom().<String>nothing().onCancellation().invoke(() -> primaryCancelled.set(true))
+                : Uni.createFrom().item(UNI_DEFAULT_TEST_VALUE).onItem().delayIt().onExecutor(scheduler).by(Duration.ofMillis(1)));
+        Hedge<String> hedge = Hedge.<String>of(tracker, Duration.ofSeconds(1))
+                .withExecutor(scheduler)
+                .withTicker(scheduler::nanoTime)
+                .withMetrics(metrics);
+        assertEquals(OBSERVED_LATENCY, hedge.delay());
+
+        UniAssertSubscriber<String> subscriber = slowOnce.plug(hedge).subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        scheduler.advanceBy(OBSERVED_LATENCY.minusNanos(1));
+        assertEquals(1, attempts.get());
+        scheduler.advanceBy(Duration.ofNanos(1));
+        assertEquals(2, attempts.get());
+        scheduler.advanceBy(Duration.ofMillis(1));
+
+        subscriber.assertItem(UNI_DEFAULT_TEST_VALUE);
+        assertTrue(primaryCancelled.get());
+        assertEquals(1.0, counter("mutiny.resilience.hedges"));
+        assertEquals(1.0, counter("mutiny.resilience.hedges.won"));
+    }
+
+    @Test
+    void uni_hedge_not_sent_when_fast() {
+        LatencyTracker tracker = warmedUpTracker();
+        Uni<String> fast = Uni.createFrom().item(UNI_DEFAULT_TEST_VALUE)
+                .onItem().delayIt().onExecutor(scheduler).by(Duration.ofMillis(5));
+
+        UniAssertSubscriber<String> subscriber = fast
+                .plug(Hedge.<String>of(tracker, Duration.ofSeconds(1))
+                        .withExecutor(scheduler)
+                        .withTicker(scheduler::nanoTime)
+                        .withMetrics(metrics))
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        scheduler.advanceBy(Duration.ofMillis(5));
+        subscriber.assertItem(UNI_DEFAULT_TEST_VALUE);
+        assertEquals(0, scheduler.pendingTasks());
+        assertEquals(0.0, counter("mutiny.resilience.hedges"));
+        assertEquals(101L, tracker.count());
+    }
+
+    @Test
+    void uni_hedge_delay_stable() {
+        Random latencies = new Random(SEED);
+        LatencyTracker tracker = new LatencyTracker(1_000);
+        for (int i = 0; i < 1_000; i++) {
+            tracker.record(backendLatency(latencies).toNanos());
+        }
+        Uni<String> backend = Uni.createFrom().deferred(() -> Uni.createFrom().item(UNI_DEFAULT_TEST_VALUE)
+                .onItem().delayIt().onExecutor(scheduler).by(backendLatency(latencies)));
+        Hedge<String> hedge = Hedge.<String>of(tracker, Duration.ofSeconds(1))
+                .withExecutor(scheduler)
+                .withTicker(scheduler::nanoTime)
+                .withMetrics(metrics);
+        Duration initialDelay = hedge.delay();
+
+        for (int call = 0; call < 2_000; call++) {
+            UniAssertSubscriber<String> subscriber = backend.plug(hedge).subscribe().withSubscriber(UniAssertSubscriber.create());
+            scheduler.advanceBy(Duration.ofSeconds(2));
+            subscriber.assertItem(UNI_DEFAULT_TEST_VALUE);
+        }
+
+        // the backend did not change, neither should the delay nor the share of hedged calls
+        Duration delay = hedge.delay();
+        assertTrue(delay.compareTo(initialDelay.multipliedBy(8).dividedBy(10)) >= 0, initialDelay + " -> " + delay);
+        assertTrue(counter("mutiny.resilience.hedges") < 2_000 * 0.1, counter("mutiny.resilience.hedges") + " hedges");
+    }
+
+    // 10 ms for 90% of the calls, a tail spread between 100 ms and 1 s for the rest
+    private static Duration backendLatency(Random random) {
+        return random.nextDouble() < 0.9 ? Duration.ofMillis(10) : Duration.ofMillis(100 + random.nextInt(901));
+    }
+
+    private static LatencyTracker warmedUpTracker() {
+        LatencyTracker tracker = new LatencyTracker(1_000);
+        for (int i = 1; i <= 100; i++) {
+            tracker.record(i <= 95 ? OBSERVED_LATENCY.toNanos() : Duration.ofSeconds(1).toNanos());
+        }
+        return tracker;
+    }
+
+    private double counter(String name) {
+        return registry.get(name).tag("operation", OPERATION).counter().count();
+    }
+}
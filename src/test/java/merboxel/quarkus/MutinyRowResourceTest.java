@@ -0,0 +1,62 @@
+package merboxel.quarkus;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.path.json.JsonPath;
+import io.restassured.response.Response;
+import merboxel.quarkus.rest.RowResource;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The buffered and the streamed endpoints of {@link RowResource} return the same rows, as a JSON array and as one
+ * JSON document per line.
+ */
+@QuarkusTest
+public class MutinyRowResourceTest {
+
+    private final static int COLUMN = 1;
+    // see src/test/resources/db/seed.sql: 25 rows per value in "table", each with 4 rows in table2
+    private final static int EXPECTED_CHILDREN = 25 * 4;
+    private final static int LARGE_LIMIT = 1_000;
+
+    @Test
+    void rest_children_buffered() {
+        given().when().get("/rows/children/{column}", COLUMN)
+                .then().statusCode(200)
+                .contentType(startsWith("application/json"))
+                .body("$", hasSize(EXPECTED_CHILDREN));
+    }
+
+    @Test
+    void rest_children_streamed() {
+        Response streamed = given().when().get("/rows/children/{column}/stream", COLUMN)
+                .then().statusCode(200)
+                .contentType(startsWith("application/x-ndjson"))
+                .extract().response();
+        List<String> lines = streamed.asString().lines().toList();
+        List<Integer> bufferedIds = given().when().get("/rows/children/{column}", COLUMN).jsonPath().getList("id");
+
+        assertEquals(EXPECTED_CHILDREN, lines.size());
+        assertEquals(bufferedIds, lines.stream().map((line) -> JsonPath.from(line).getInt("id")).toList());
+    }
+
+    @Test
+    void rest_large_buffered_and_streamed() {
+        given().queryParam("limit", LARGE_LIMIT).when().get("/rows/large")
+                .then().statusCode(200)
+                .body("$", hasSize(LARGE_LIMIT));
+
+        List<String> lines = given().queryParam("limit", LARGE_LIMIT).when().get("/rows/large/stream")
+                .then().statusCode(200)
+                .contentType(startsWith("application/x-ndjson"))
+                .extract().asString().lines().toList();
+        assertEquals(LARGE_LIMIT, lines.size());
+        assertEquals(LARGE_LIMIT, JsonPath.from(lines.get(LARGE_LIMIT - 1)).getInt("id"));
+    }
+}
@@ -9,10 +9,14 @@ import io.vertx.mutiny.pgclient.PgPool;
 import io.vertx.mutiny.sqlclient.Row;
 import io.vertx.mutiny.sqlclient.RowSet;
 import io.vertx.mutiny.sqlclient.Tuple;
-import org.junit.jupiter.api.Disabled;
+import jakarta.inject.Inject;
+import merboxel.quarkus.batch.PgBatchQueries;
+import merboxel.quarkus.batch.StreamingBatcher;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static io.smallrye.mutiny.helpers.spies.Spy.onItem;
 
@@ -23,6 +27,12 @@ public class MutinyTransformAsyncTest {
     private final static Uni<Integer> UNI_DEFAULT_MUTINY = Uni.createFrom().item(UNI_DEFAULT_TEST_VALUE);
     private final static List<Integer> MULTI_DEFAULT_TEST_VALUE = List.of(1,2,3,4);
     private final static Multi<Integer> MULTI_DEFAULT_MUTINY = Multi.createFrom().iterable(MULTI_DEFAULT_TEST_VALUE);
+    // see src/test/resources/db/seed.sql: 25 rows per value in "table", each with 4 rows in table2
+    private final static Long PGPOOL_EXPECTED_ROWS = MULTI_DEFAULT_TEST_VALUE.size() * 25L * 4L;
+    private final static Duration PGPOOL_TIMEOUT = Duration.ofSeconds(10);
+
+    @Inject
+    PgPool client;
 
     @Test
     public void uni_transformToUni() {
@@ -89,40 +99,63 @@ public class MutinyTransformAsyncTest {
     }
 
     @Test
-    @Disabled
     public void multi_pgpool() {
 
-        MULTI_DEFAULT_MUTINY.onItem().transformToMulti((i) ->
+        UniAssertSubscriber<Long> subscriber = MULTI_DEFAULT_MUTINY.onItem().transformToMulti((i) ->
 
-            PgPool.client().preparedQuery("""
-                SELECT * FROM table WHERE column = $1
+            client.preparedQuery("""
+                SELECT * FROM "table" WHERE "column" = $1
             """).execute(Tuple.of(i)).onItem().transformToMulti(RowSet::toMulti)
             .onItem().transformToMulti((row) ->
 
-                PgPool.client().preparedQuery("""
-                    SELECT * FROM table2 WHERE column = $1
+                client.preparedQuery("""
+                    SELECT * FROM table2 WHERE "column" = $1
                 """).execute(Tuple.of(row.getInteger("id"))).onItem().transformToMulti(RowSet::toMulti)
             ).merge()
-        ).merge().onItem().ignoreAsUni().replaceWithVoid();
+        ).merge().collect().with(Collectors.counting())
+        .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        subscriber.awaitItem(PGPOOL_TIMEOUT).assertItem(PGPOOL_EXPECTED_ROWS);
     }
 
     @Test
-    @Disabled
     public void multi_pgpool_executeBatch() {
 
-        MULTI_DEFAULT_MUTINY.onItem().transformToMulti((i) ->
+        UniAssertSubscriber<Long> subscriber = MULTI_DEFAULT_MUTINY.onItem().transformToMulti((i) ->
 
-            PgPool.client().preparedQuery("""
-                SELECT * FROM table WHERE column = $1
+            client.preparedQuery("""
+                SELECT * FROM "table" WHERE "column" = $1
             """).execute(Tuple.of(i)).onItem().transformToMulti(RowSet::toMulti)
             .onItem().transform((row) -> Tuple.of(row.getInteger("id")))
             .collect().asList()
             .onItem().transformToMulti((rowList) ->
 
-                PgPool.client().preparedQuery("""
-                    SELECT * FROM table2 WHERE column = $1
-                """).executeBatch(rowList).onItem().transformToMulti(RowSet::toMulti)
+                client.preparedQuery("""
+                    SELECT * FROM table2 WHERE "column" = $1
+                """).executeBatch(rowList).onItem().transformToMulti(PgBatchQueries::allRows)
             )
-        ).merge().onItem().ignoreAsUni().replaceWithVoid();
+        ).merge().collect().with(Collectors.counting())
+        .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        subscriber.awaitItem(PGPOOL_TIMEOUT).assertItem(PGPOOL_EXPECTED_ROWS);
+    }
+
+    @Test
+    public void multi_pgpool_streamingBatch() {
+
+        UniAssertSubscriber<Long> subscriber = MULTI_DEFAULT_MUTINY.onItem().transformToMulti((i) ->
+
+            client.preparedQuery("""
+                SELECT * FROM "table" WHERE "column" = $1
+            """).execute(Tuple.of(i)).onItem().transformToMulti(RowSet::toMulti)
+        ).merge()
+        .onItem().transform((row) -> row.getInteger("id"))
+        .plug(StreamingBatcher.of(64, Duration.ofMillis(5), PgBatchQueries.anyOf(client, """
+                SELECT * FROM table2 WHERE "column" = ANY($1)
+            """, Integer[]::new)).withConcurrency(4)
+        ).collect().with(Collectors.counting())
+        .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        subscriber.awaitItem(PGPOOL_TIMEOUT).assertItem(PGPOOL_EXPECTED_ROWS);
     }
 }
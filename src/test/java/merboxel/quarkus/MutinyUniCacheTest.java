@@ -0,0 +1,184 @@
+package merboxel.quarkus;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.test.AssertSubscriber;
+import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
+import merboxel.quarkus.cache.UniCache;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+public class MutinyUniCacheTest {
+
+    private final static List<Integer> MULTI_DEFAULT_TEST_VALUE = List.of(1,2,3,4);
+    private final static Duration TTL = Duration.ofMinutes(1);
+
+    @Test
+    public void uni_cache_coalesces_concurrent_subscribers() throws InterruptedException {
+        AtomicInteger loads = new AtomicInteger();
+        UniCache<String, String> cache = UniCache.of((String key) -> Uni.createFrom().item(key)
+                .onSubscription().invoke(loads::incrementAndGet)
+                .onItem().delayIt().by(Duration.ofMillis(100)));
+
+        int subscribers = 1_000;
+        CountDownLatch start = new CountDownLatch(1);
+        ConcurrentHashMap<String, Integer> results = new ConcurrentHashMap<>();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            for (int i = 0; i < subscribers; i++) {
+                pool.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    String item = cache.get("key").await().atMost(Duration.ofSeconds(5));
+                    results.merge(item, 1, Integer::sum);
+                });
+            }
+            start.countDown();
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(subscribers, results.get("key"));
+        assertEquals(1, cache.stats().missCount());
+        assertEquals(subscribers - 1, cache.stats().hitCount());
+    }
+
+    @Test
+    public void uni_cache_transformToUni() {
+        AtomicInteger loads = new AtomicInteger();
+        UniCache<Integer, Integer> cache = UniCache.of((Integer i) -> Uni.createFrom().item(i * 10)
+                .onSubscription().invoke(loads::incrementAndGet));
+
+        AssertSubscriber<Integer> subscriber = Multi.createFrom().iterable(MULTI_DEFAULT_TEST_VALUE)
+                .onItem().transformToMulti((i) -> Multi.createFrom().items(i, i))
+                .concatenate()
+                .onItem().transformToUni(cache::get)
+                .concatenate()
+                .subscribe().withSubscriber(AssertSubscriber.create(Long.MAX_VALUE));
+
+        subscriber.awaitCompletion().assertItems(10, 10, 20, 20, 30, 30, 40, 40);
+        assertEquals(MULTI_DEFAULT_TEST_VALUE.size(), loads.get());
+        assertTrue(cache.stats().totalLoadTime() > 0);
+    }
+
+    @Test
+    public void uni_cache_expire_after_write() {
+        AtomicLong nanos = new AtomicLong();
+        AtomicInteger loads = new AtomicInteger();
+        UniCache<String, Integer> cache = UniCache.of((String key) -> Uni.createFrom().item(loads::incrementAndGet))
+                .withExpireAfterWrite(TTL)
+                .withTicker(nanos::get)
+                .withExecutor(Runnable::run);
+
+        assertEquals(1, cache.get("key").await().indefinitely());
+        nanos.addAndGet(TTL.minusSeconds(1).toNanos());
+        assertEquals(1, cache.get("key").await().indefinitely());
+        nanos.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertEquals(2, cache.get("key").await().indefinitely());
+    }
+
+    @Test
+    public void uni_cache_refresh_after_write() {
+        AtomicLong nanos = new AtomicLong();
+        AtomicInteger loads = new AtomicInteger();
+        CompletableFuture<Integer> refreshed = new CompletableFuture<>();
+        UniCache<String, Integer> cache = UniCache.of((String key) -> loads.incrementAndGet() == 1
+                        ? Uni.createFrom().item(1)
+                        : Uni.createFrom().completionStage(refreshed))
+                .withExpireAfterWrite(TTL.multipliedBy(2))
+                .withRefreshAfterWrite(TTL)
+                .withTicker(nanos::get)
+                .withExecutor(Runnable::run);
+
+        assertEquals(1, cache.get("key").await().indefinitely());
+        nanos.addAndGet(TTL.plusSeconds(1).toNanos());
+        // the stale value is served while the refresh runs
+        assertEquals(1, cache.get("key").await().indefinitely());
+        assertEquals(2, loads.get());
+        refreshed.complete(2);
+        assertEquals(2, cache.get("key").await().indefinitely());
+        assertEquals(1, cache.stats().missCount());
+    }
+
+    @Test
+    public void uni_cache_bounded_under_contention() throws InterruptedException {
+        int maximumSize = 16;
+        UniCache<Integer, Integer> cache = UniCache.of((Integer i) -> Uni.createFrom().item(i * 2))
+                .withMaximumSize(maximumSize);
+
+        AtomicInteger wrong = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            for (int t = 0; t < 8; t++) {
+                int seed = t;
+                pool.execute(() -> {
+                    for (int i = 0; i < 2_000; i++) {
+                        int key = (i * 31 + seed * 7) % 500;
+                        if (cache.get(key).await().atMost(Duration.ofSeconds(5)) != key * 2) {
+                            wrong.incrementAndGet();
+                        }
+                    }
+                });
+            }
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+        cache.cleanUp();
+
+        assertEquals(0, wrong.get());
+        assertTrue(cache.estimatedSize() <= maximumSize);
+        assertTrue(cache.stats().evictionCount() > 0);
+    }
+
+    @Test
+    public void uni_cache_failure_not_cached() {
+        AtomicInteger loads = new AtomicInteger();
+        UniCache<String, String> cache = UniCache.of((String key) -> loads.incrementAndGet() == 1
+                ? Uni.createFrom().failure(new RuntimeException("load failure"))
+                : Uni.createFrom().item(key));
+
+        cache.get("key").subscribe().withSubscriber(UniAssertSubscriber.create())
+                .awaitFailure().assertFailedWith(RuntimeException.class, "load failure");
+        cache.get("key").subscribe().withSubscriber(UniAssertSubscriber.create())
+                .awaitItem().assertItem("key");
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void uni_cache_cancel_keeps_shared_load() {
+        AtomicInteger loads = new AtomicInteger();
+        UniCache<String, String> cache = UniCache.of((String key) -> Uni.createFrom().item(key)
+                .onSubscription().invoke(loads::incrementAndGet)
+                .onItem().delayIt().by(Duration.ofMillis(100)));
+
+        UniAssertSubscriber<String> cancelled = cache.get("key").subscribe().withSubscriber(UniAssertSubscriber.create());
+        UniAssertSubscriber<String> other = cache.get("key").subscribe().withSubscriber(UniAssertSubscriber.create());
+        cancelled.cancel();
+
+        other.awaitItem().assertItem("key");
+        assertEquals(1, loads.get());
+    }
+}
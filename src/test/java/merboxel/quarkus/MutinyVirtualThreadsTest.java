@@ -0,0 +1,137 @@
+package merboxel.quarkus;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.test.AssertSubscriber;
+import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
+import merboxel.quarkus.concurrency.Offload;
+import merboxel.quarkus.concurrency.VirtualThreadExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+public class MutinyVirtualThreadsTest {
+
+    private final static String UNI_DEFAULT_TEST_VALUE = "test";
+    private final static Uni<String> UNI_DEFAULT_MUTINY = Uni.createFrom().item(UNI_DEFAULT_TEST_VALUE);
+    private final static List<String> MULTI_DEFAULT_TEST_VALUE = List.of("test1", "test2", "test3", "test4");
+    private final static Multi<String> MULTI_DEFAULT_MUTINY = Multi.createFrom().iterable(MULTI_DEFAULT_TEST_VALUE);
+
+    private VirtualThreadExecutor executor;
+
+    @BeforeEach
+    void createExecutor() {
+        executor = new VirtualThreadExecutor("mutiny-test", 8);
+    }
+
+    @AfterEach
+    void closeExecutor() {
+        executor.close();
+    }
+
+    @Test
+    public void uni_runSubscriptionOn_virtual_thread() {
+        UniAssertSubscriber<String> subscriber = UNI_DEFAULT_MUTINY
+                .runSubscriptionOn(executor)
+                .onItem().transform((str) -> Thread.currentThread().isVirtual() + " " + str.toUpperCase())
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        subscriber.awaitItem(Duration.ofSeconds(1))
+                .assertItem("true " + UNI_DEFAULT_TEST_VALUE.toUpperCase());
+    }
+
+    @Test
+    public void multi_emitOn_virtual_thread() {
+        AssertSubscriber<Boolean> subscriber = MULTI_DEFAULT_MUTINY
+                .emitOn(executor)
+                .onItem().transform((str) -> Thread.currentThread().isVirtual())
+                .subscribe().withSubscriber(AssertSubscriber.create());
+
+        subscriber.awaitNextItems(MULTI_DEFAULT_TEST_VALUE.size()).awaitCompletion().assertItems(
+                true, true, true, true
+        );
+    }
+
+    @Test
+    public void multi_transform_blocking_offloaded() {
+        AssertSubscriber<Integer> subscriber = MULTI_DEFAULT_MUTINY.onItem()
+                .transformToUni(Offload.blocking(this::blockingStrToInt, executor)).concatenate()
+                .subscribe().withSubscriber(AssertSubscriber.create());
+
+        subscriber.awaitNextItems(MULTI_DEFAULT_TEST_VALUE.size()).awaitCompletion().assertItems(
+                new Integer[]{2,3,4,5}
+        );
+    }
+
+    @Test
+    public void multi_transform_blocking_capped() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        AssertSubscriber<Integer> subscriber = Multi.createFrom().range(0, 100).onItem()
+                .transformToUni(Offload.blocking((Integer i) -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    sleep(Duration.ofMillis(5));
+                    running.decrementAndGet();
+                    return i;
+                }, executor)).merge(100)
+                .subscribe().withSubscriber(AssertSubscriber.create(Long.MAX_VALUE));
+
+        subscriber.awaitCompletion(Duration.ofSeconds(10));
+        assertEquals(100, subscriber.getItems().size());
+        assertTrue(maxRunning.get() <= executor.maxConcurrency(), "ran " + maxRunning.get() + " at once");
+        assertEquals(0, executor.pending());
+    }
+
+    @Test
+    public void close_runs_queued_tasks() {
+        VirtualThreadExecutor capped = new VirtualThreadExecutor("mutiny-test-close", 1);
+
+        AssertSubscriber<Integer> subscriber = Multi.createFrom().range(0, 4).onItem()
+                .transformToUni(Offload.blocking((Integer i) -> {
+                    sleep(Duration.ofMillis(20));
+                    return i;
+                }, capped)).merge(4)
+                .subscribe().withSubscriber(AssertSubscriber.create(Long.MAX_VALUE));
+        assertEquals(3, capped.pending());
+
+        capped.close();
+        subscriber.assertCompleted();
+        assertEquals(4, subscriber.getItems().size());
+        assertEquals(0, capped.pending());
+
+        UNI_DEFAULT_MUTINY.runSubscriptionOn(capped)
+                .subscribe().withSubscriber(UniAssertSubscriber.create())
+                .assertFailedWith(RejectedExecutionException.class);
+    }
+
+    private int blockingStrToInt(String str) {
+        sleep(Duration.ofMillis(10));
+        return switch (str) {
+            case "test1" -> 2;
+            case "test2" -> 3;
+            case "test3" -> 4;
+            case "test4" -> 5;
+            default -> throw new RuntimeException();
+        };
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+}
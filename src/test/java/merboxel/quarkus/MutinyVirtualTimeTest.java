@@ -0,0 +1,108 @@
+package merboxel.quarkus;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.TimeoutException;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.test.AssertSubscriber;
+import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import merboxel.quarkus.time.VirtualTimeScheduler;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Hours of ticks, timeouts and back-off, each operator given a {@link VirtualTimeScheduler}: none of the tests waits
+ * for the wall clock.
+ */
+@QuarkusTest
+public class MutinyVirtualTimeTest {
+
+    @Test
+    void multi_ticks_for_two_hours() {
+        try (VirtualTimeScheduler scheduler = new VirtualTimeScheduler()) {
+            AssertSubscriber<Long> subscriber = Multi.createFrom().ticks().onExecutor(scheduler).every(Duration.ofSeconds(1))
+                    .subscribe().withSubscriber(AssertSubscriber.create(Long.MAX_VALUE));
+
+            // the first tick is due at subscription
+            scheduler.advanceBy(Duration.ofSeconds(1).minusMillis(1));
+            subscriber.assertItems(0L);
+            scheduler.advanceBy(Duration.ofHours(2).minusSeconds(1).plusMillis(1));
+
+            assertEquals(7_201, subscriber.getItems().size());
+            assertEquals(7_200L, subscriber.getLastItem());
+            subscriber.cancel();
+            assertEquals(0, scheduler.pendingTasks());
+        }
+    }
+
+    @Test
+    void uni_timeout_after_one_hour() {
+        try (VirtualTimeScheduler scheduler = new VirtualTimeScheduler()) {
+            UniAssertSubscriber<String> subscriber = Uni.createFrom().<String>nothing()
+                    .ifNoItem().after(Duration.ofHours(1)).on(scheduler).fail()
+                    .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+            scheduler.advanceBy(Duration.ofMinutes(59));
+            subscriber.assertNotTerminated();
+            scheduler.advanceBy(Duration.ofMinutes(1));
+            subscriber.assertFailedWith(TimeoutException.class);
+            assertEquals(Duration.ofHours(1), scheduler.now());
+        }
+    }
+
+    @Test
+    void uni_retry_with_backoff() {
+        try (VirtualTimeScheduler scheduler = new VirtualTimeScheduler()) {
+            AtomicInteger attempts = new AtomicInteger();
+            UniAssertSubscriber<String> subscriber = Uni.createFrom().<String>failure(() -> {
+                        attempts.incrementAndGet();
+                        return new RuntimeException("emmitter failure");
+                    })
+                    .onFailure().retry().withBackOff(Duration.ofSeconds(1), Duration.ofMinutes(1)).withExecutor(scheduler).atMost(5)
+                    .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+            assertEquals(1, attempts.get());
+            scheduler.advanceBy(Duration.ofHours(1));
+
+            subscriber.assertFailedWith(RuntimeException.class, "emmitter failure");
+            assertEquals(6, attempts.get());
+        }
+    }
+
+    @Test
+    void scheduler_leaves_infrastructure_alone() {
+        Executor executor = Infrastructure.getDefaultExecutor();
+        try (VirtualTimeScheduler scheduler = new VirtualTimeScheduler()) {
+            Uni.createFrom().item(1).onItem().delayIt().onExecutor(scheduler).by(Duration.ofMinutes(1))
+                    .subscribe().withSubscriber(UniAssertSubscriber.create());
+            assertEquals(1, scheduler.pendingTasks());
+            assertSame(executor, Infrastructure.getDefaultExecutor());
+        }
+    }
+
+    @Test
+    void scheduler_periodic_task() {
+        VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+        AtomicInteger runs = new AtomicInteger();
+
+        ScheduledFuture<?> task = scheduler.scheduleAtFixedRate(runs::incrementAndGet, 10, 10, TimeUnit.MINUTES);
+        scheduler.advanceBy(Duration.ofHours(1));
+        assertEquals(6, runs.get());
+        assertEquals(10, task.getDelay(TimeUnit.MINUTES));
+
+        task.cancel(false);
+        scheduler.advanceBy(Duration.ofHours(1));
+        assertEquals(6, runs.get());
+        assertTrue(task.isCancelled());
+    }
+}
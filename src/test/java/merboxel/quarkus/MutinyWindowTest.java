@@ -0,0 +1,162 @@
+package merboxel.quarkus;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.helpers.test.AssertSubscriber;
+import merboxel.quarkus.time.VirtualTimeScheduler;
+import merboxel.quarkus.window.Aggregators;
+import merboxel.quarkus.window.QuantileSketch;
+import merboxel.quarkus.window.WindowResult;
+import merboxel.quarkus.window.WindowStats;
+import merboxel.quarkus.window.Windows;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Windowed aggregation over {@code range} and {@code ticks} sources, chained after the
+ * {@code onItem().transform(...)} steps of {@link MutinyTransformSyncTest}. Time windows run on a
+ * {@link VirtualTimeScheduler}.
+ */
+@QuarkusTest
+public class MutinyWindowTest {
+
+    private final static Duration TICK = Duration.ofMillis(100);
+    private final static Duration WINDOW = Duration.ofSeconds(1);
+
+    private final VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+
+    @Test
+    void multi_window_tumbling_count() {
+        AssertSubscriber<WindowResult<Long>> subscriber = Multi.createFrom().range(0, 10)
+                .plug(Windows.tumbling(4, Aggregators.sum(Integer::longValue)))
+                .subscribe().withSubscriber(AssertSubscriber.create(Long.MAX_VALUE));
+
+        subscriber.assertCompleted();
+        assertEquals(List.of(6L, 22L, 17L), values(subscriber));
+        assertEquals(List.of(4L, 4L, 2L), counts(subscriber));
+        assertEquals(8L, subscriber.getItems().get(2).start());
+    }
+
+    @Test
+    void multi_window_sliding_count() {
+        AssertSubscriber<WindowResult<Integer>> subscriber = Multi.createFrom().range(0, 8)
+                .plug(Windows.sliding(4, 2, Aggregators.<Integer>max(Comparator.naturalOrder())))
+                .subscribe().withSubscriber(AssertSubscriber.create(Long.MAX_VALUE));
+
+        subscriber.assertCompleted();
+        // [0, 4) [2, 6) [4, 8), then the partial [6, 10)
+        assertEquals(List.of(3, 5, 7, 7), values(subscriber));
+        assertEquals(List.of(4L, 4L, 4L, 2L), counts(subscriber));
+    }
+
+    @Test
+    void multi_window_after_transform() {
+        AssertSubscriber<WindowResult<WindowStats>> subscriber = Multi.createFrom().range(1, 101)
+                .onItem().transform((i) -> i * 10)
+                .plug(Windows.tumbling(10, Aggregators.stats(Integer::doubleValue)))
+                .onItem().invoke((window) -> assertEquals(10L, window.value().count()))
+                .subscribe().withSubscriber(AssertSubscriber.create(Long.MAX_VALUE));
+
+        subscriber.assertCompleted();
+        assertEquals(10, subscriber.getItems().size());
+        WindowStats first = subscriber.getItems().get(0).value();
+        assertEquals(55.0, first.mean());
+        assertEquals(10.0, first.min());
+        assertEquals(100.0, first.max());
+    }
+
+    @Test
+    void multi_window_quantiles() {
+        AssertSubscriber<WindowResult<QuantileSketch>> subscriber = Multi.createFrom().range(1, 10_001)
+                .plug(Windows.tumbling(10_000, Aggregators.quantiles(Integer::doubleValue, 0.01)))
+                .subscribe().withSubscriber(AssertSubscriber.create(Long.MAX_VALUE));
+
+        QuantileSketch sketch = subscriber.assertCompleted().getItems().get(0).value();
+        assertEquals(10_000L, sketch.count());
+        assertEquals(5_000.0, sketch.quantile(0.5), 5_000.0 * 0.01);
+        assertEquals(9_900.0, sketch.quantile(0.99), 9_900.0 * 0.01);
+        assertEquals(1.0, sketch.quantile(0.0), 0.01);
+    }
+
+    @Test
+    void multi_window_tumbling_time_over_ticks() {
+        AssertSubscriber<WindowResult<Long>> subscriber = Multi.createFrom().ticks().onExecutor(scheduler).every(TICK)
+                .plug(Windows.<Long, Long>tumbling(WINDOW, Aggregators.count()).withExecutor(scheduler))
+                .subscribe().withSubscriber(AssertSubscriber.create(Long.MAX_VALUE));
+
+        scheduler.advanceBy(Duration.ofSeconds(3));
+        assertEquals(List.of(10L, 10L, 10L), values(subscriber));
+        assertEquals(Duration.ofSeconds(2).toNanos(), subscriber.getItems().get(2).start());
+
+        subscriber.cancel();
+        assertEquals(0, scheduler.pendingTasks());
+    }
+
+    @Test
+    void multi_window_sliding_time_over_ticks() {
+        AssertSubscriber<WindowResult<WindowStats>> subscriber = Multi.createFrom().ticks().onExecutor(scheduler).every(TICK)
+                .plug(Windows.<Long, WindowStats>sliding(WINDOW, WINDOW.dividedBy(2), Aggregators.stats(Long::doubleValue))
+                        .withExecutor(scheduler))
+                .subscribe().withSubscriber(AssertSubscriber.create(Long.MAX_VALUE));
+
+        scheduler.advanceBy(Duration.ofSeconds(2));
+        // [0, 1s) [0.5s, 1.5s) [1s, 2s)
+        assertEquals(3, subscriber.getItems().size());
+        assertEquals(List.of(0.0, 5.0, 10.0), subscriber.getItems().stream().map((w) -> w.value().min()).toList());
+        assertEquals(List.of(9.0, 14.0, 19.0), subscriber.getItems().stream().map((w) -> w.value().max()).toList());
+        subscriber.cancel();
+    }
+
+    @Test
+    void multi_window_time_skips_empty_windows() {
+        AssertSubscriber<WindowResult<Long>> subscriber = Multi.createFrom().<Long>nothing()
+                .plug(Windows.<Long, Long>tumbling(WINDOW, Aggregators.count()).withExecutor(scheduler))
+                .subscribe().withSubscriber(AssertSubscriber.create(Long.MAX_VALUE));
+
+        scheduler.advanceBy(Duration.ofHours(1));
+        subscriber.assertHasNotReceivedAnyItem().assertNotTerminated();
+        subscriber.cancel();
+        assertEquals(0, scheduler.pendingTasks());
+    }
+
+    @Test
+    void multi_window_time_paused_subscriber_bounded() {
+        AtomicLong requestedFromUpstream = new AtomicLong();
+        AssertSubscriber<WindowResult<Long>> subscriber = Multi.createFrom().ticks().onExecutor(scheduler).every(TICK)
+                .onOverflow().drop()
+                .onRequest().invoke(requestedFromUpstream::addAndGet)
+                .plug(Windows.<Long, Long>tumbling(WINDOW, Aggregators.count()).withExecutor(scheduler))
+                .subscribe().withSubscriber(AssertSubscriber.create(1));
+
+        // an hour is 3600 windows, the paused subscriber only holds those of the first prefetched items
+        scheduler.advanceBy(Duration.ofHours(1));
+        assertEquals(List.of(10L), values(subscriber));
+        assertEquals(256L, requestedFromUpstream.get());
+
+        subscriber.request(Long.MAX_VALUE);
+        assertTrue(subscriber.getItems().size() <= 256 / 10 + 2, subscriber.getItems().size() + " windows held");
+        assertEquals(256L, subscriber.getItems().stream().mapToLong(WindowResult::count).sum());
+        subscriber.cancel();
+    }
+
+    @Test
+    void multi_window_invalid_slide() {
+        assertThrows(IllegalArgumentException.class, () -> Windows.sliding(5, 2, Aggregators.count()));
+    }
+
+    private static <R> List<R> values(AssertSubscriber<WindowResult<R>> subscriber) {
+        return subscriber.getItems().stream().map(WindowResult::value).toList();
+    }
+
+    private static <R> List<Long> counts(AssertSubscriber<WindowResult<R>> subscriber) {
+        return subscriber.getItems().stream().map(WindowResult::count).toList();
+    }
+}
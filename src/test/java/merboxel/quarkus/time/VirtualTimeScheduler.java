@@ -0,0 +1,236 @@
+package merboxel.quarkus.time;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.smallrye.mutiny.helpers.ParameterValidation;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ScheduledExecutorService} driven by a virtual clock instead of the wall clock.
+ * <p>
+ * Nothing runs on its own: tasks run on the thread calling {@link #advanceBy(Duration)}, in order of their due time,
+ * with the clock set to that due time while they run. Tasks submitted with {@code execute} are due immediately and
+ * run on the next {@code advanceBy}, even {@code advanceBy(Duration.ZERO)}. As a {@link Ticker} it reads the
+ * virtual clock, for {@code UniCache.withTicker(...)}.
+ * <p>
+ * Pass it to each operator under test ({@code ticks().onExecutor(scheduler)}, {@code delayIt().onExecutor(scheduler)},
+ * {@code withExecutor(scheduler)}, ...), Mutiny's default executor is never replaced.
+ */
+public class VirtualTimeScheduler extends AbstractExecutorService implements ScheduledExecutorService, Ticker {
+
+    private final PriorityQueue<VirtualTask<?>> queue = new PriorityQueue<>();
+    private long nanoTime;
+    private long sequence;
+    private boolean shutdown;
+
+    /**
+     * Drops the pending tasks.
+     */
+    @Override
+    public void close() {
+        shutdownNow();
+    }
+
+    /**
+     * Runs every task due within {@code duration}, including the tasks they schedule within that window, then moves
+     * the clock to the end of the window.
+     */
+    public void advanceBy(Duration duration) {
+        ParameterValidation.nonNull(duration, "duration");
+        if (duration.isNegative()) {
+            throw new IllegalArgumentException("`duration` must not be negative");
+        }
+        long target;
+        synchronized (this) {
+            target = nanoTime + duration.toNanos();
+        }
+        for (;;) {
+            VirtualTask<?> task;
+            synchronized (this) {
+                task = queue.peek();
+                if (task == null || task.time > target) {
+                    nanoTime = target;
+                    return;
+                }
+                queue.poll();
+                nanoTime = task.time;
+            }
+            task.run();
+        }
+    }
+
+    /**
+     * Elapsed virtual time since the scheduler was created.
+     */
+    public synchronized Duration now() {
+        return Duration.ofNanos(nanoTime);
+    }
+
+    public synchronized long nanoTime() {
+        return nanoTime;
+    }
+
+    @Override
+    public long read() {
+        return nanoTime();
+    }
+
+    /**
+     * Tasks waiting for their due time, cancelled ones excluded.
+     */
+    public synchronized int pendingTasks() {
+        return (int) queue.stream().filter((task) -> !task.isCancelled()).count();
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        schedule(command, 0, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        return enqueue(new VirtualTask<>(Executors.callable(command, null), 0), delay(delay, unit));
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        return enqueue(new VirtualTask<>(callable, 0), delay(delay, unit));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        return enqueue(new VirtualTask<>(Executors.callable(command, null), positivePeriod(period, unit)),
+                delay(initialDelay, unit));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+        // tasks take no virtual time, fixed delay and fixed rate are the same
+        return scheduleAtFixedRate(command, initialDelay, delay, unit);
+    }
+
+    @Override
+    public synchronized void shutdown() {
+        shutdown = true;
+    }
+
+    @Override
+    public synchronized List<Runnable> shutdownNow() {
+        shutdown = true;
+        List<Runnable> pending = new ArrayList<>(queue);
+        queue.clear();
+        return pending;
+    }
+
+    @Override
+    public synchronized boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public synchronized boolean isTerminated() {
+        return shutdown && queue.isEmpty();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) {
+        return isTerminated();
+    }
+
+    private static long delay(long delay, TimeUnit unit) {
+        return Math.max(0, unit.toNanos(delay));
+    }
+
+    private static long positivePeriod(long period, TimeUnit unit) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("`period` must be greater than zero");
+        }
+        return unit.toNanos(period);
+    }
+
+    private synchronized <V> VirtualTask<V> enqueue(VirtualTask<V> task, long delay) {
+        if (shutdown) {
+            throw new RejectedExecutionException("The scheduler is shut down");
+        }
+        task.time = nanoTime + delay;
+        task.sequence = sequence++;
+        queue.add(task);
+        return task;
+    }
+
+    private synchronized void requeue(VirtualTask<?> task) {
+        if (!shutdown) {
+            task.time += task.period;
+            task.sequence = sequence++;
+            queue.add(task);
+        }
+    }
+
+    private synchronized long remaining(VirtualTask<?> task) {
+        return task.time - nanoTime;
+    }
+
+    private synchronized void remove(VirtualTask<?> task) {
+        queue.remove(task);
+    }
+
+    private final class VirtualTask<V> extends FutureTask<V> implements RunnableScheduledFuture<V> {
+
+        private final long period;
+        private long time;
+        private long sequence;
+
+        private VirtualTask(Callable<V> callable, long period) {
+            super(callable);
+            this.period = period;
+        }
+
+        @Override
+        public boolean isPeriodic() {
+            return period > 0;
+        }
+
+        @Override
+        public void run() {
+            if (!isPeriodic()) {
+                super.run();
+            } else if (runAndReset()) {
+                requeue(this);
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled) {
+                remove(this);
+            }
+            return cancelled;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(remaining(this), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            VirtualTask<?> task = (VirtualTask<?>) other;
+            int byTime = Long.compare(time, task.time);
+            return byTime != 0 ? byTime : Long.compare(sequence, task.sequence);
+        }
+    }
+}
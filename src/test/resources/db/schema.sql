@@ -0,0 +1,19 @@
+CREATE TABLE "table" (
+    id       SERIAL PRIMARY KEY,
+    "column" INTEGER NOT NULL,
+    name     TEXT    NOT NULL
+);
+
+CREATE TABLE table2 (
+    id       SERIAL PRIMARY KEY,
+    "column" INTEGER NOT NULL,
+    name     TEXT    NOT NULL
+);
+
+CREATE INDEX table_column_idx ON "table" ("column");
+CREATE INDEX table2_column_idx ON table2 ("column");
+
+CREATE TABLE large_table (
+    id      SERIAL PRIMARY KEY,
+    payload TEXT NOT NULL
+);
@@ -0,0 +1,14 @@
+-- 25 rows in "table" for every value of MULTI_DEFAULT_TEST_VALUE (1..4)
+INSERT INTO "table" ("column", name)
+SELECT c, 'row-' || c || '-' || n
+FROM generate_series(1, 4) c, generate_series(1, 25) n;
+
+-- 4 rows in table2 for every row of "table", referencing it by id
+INSERT INTO table2 ("column", name)
+SELECT t.id, 'child-' || t.id || '-' || n
+FROM "table" t, generate_series(1, 4) n;
+
+-- 200,000 rows of ~512 bytes (about 100 MB) for the RowSet vs cursor streaming comparison
+INSERT INTO large_table (payload)
+SELECT repeat(md5(n::text), 16)
+FROM generate_series(1, 200000) n;